@@ -19,6 +19,8 @@ package org.apache.maven.dist.tools;
  * under the License.
  */
 
+import java.util.Date;
+
 /**
  *
  * @author skygo
@@ -28,6 +30,8 @@ public class AbstractCheckResult
 
     private final ConfigurationLineInfo configLine;
     private final String version;
+    private String notCheckedReason;
+    private Date cachedDate;
 
     public AbstractCheckResult( ConfigurationLineInfo r, String version )
     {
@@ -50,4 +54,50 @@ public class AbstractCheckResult
     {
         return version;
     }
+
+    /**
+     * Mark the artifact as not checked.
+     *
+     * @param reason why the artifact was not checked, displayed in the report
+     */
+    public void setNotChecked( String reason )
+    {
+        this.notCheckedReason = reason;
+    }
+
+    /**
+     * @return why the artifact was not checked, or <code>null</code> if it was checked
+     */
+    public String getNotCheckedReason()
+    {
+        return notCheckedReason;
+    }
+
+    public boolean isChecked()
+    {
+        return notCheckedReason == null;
+    }
+
+    /**
+     * Mark the result as reported from a previous check, in incremental mode.
+     *
+     * @param checked when the artifact was checked
+     */
+    public void setCached( Date checked )
+    {
+        this.cachedDate = checked;
+    }
+
+    /**
+     * @return when the artifact was checked if the result is reported from a previous check, or <code>null</code>
+     */
+    public Date getCachedDate()
+    {
+        return cachedDate;
+    }
+
+    public boolean isCached()
+    {
+        return cachedDate != null;
+    }
 }
@@ -19,36 +19,50 @@ package org.apache.maven.dist.tools;
  * under the License.
  */
 
-import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.net.URL;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
 import org.apache.maven.artifact.repository.MavenArtifactRepository;
 import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
-import org.apache.maven.artifact.repository.metadata.Metadata;
-import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.dist.tools.http.AdaptiveConcurrencyLimit;
+import org.apache.maven.dist.tools.http.CircuitBreaker;
+import org.apache.maven.dist.tools.http.DeferredRetryException;
+import org.apache.maven.dist.tools.http.HttpCache;
+import org.apache.maven.dist.tools.http.HttpFetcher;
+import org.apache.maven.dist.tools.http.HttpResource;
+import org.apache.maven.dist.tools.http.JdkHttpTransport;
+import org.apache.maven.dist.tools.http.RateLimiter;
+import org.apache.maven.dist.tools.http.RedirectCache;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.reporting.AbstractMavenReport;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.jsoup.nodes.Document;
 
 /**
  *
@@ -59,7 +73,10 @@ public abstract class AbstractDistCheckMojo
 {
     private static final String CONF = "dist-tool.conf";
 
-    private static final String EOL = System.getProperty( "line.separator" );
+    /**
+     * Version used in fetch plan when the version to check is not known before the run.
+     */
+    private static final String ESTIMATED_VERSION = "LATEST";
 
     /**
      * URL of repository where artifacts are stored. 
@@ -67,6 +84,21 @@ public abstract class AbstractDistCheckMojo
     @Parameter( property = "repositoryUrl", defaultValue = "https://repo.maven.apache.org/maven2/" )
     protected String repoBaseUrl;
 
+    /**
+     * Base URLs of repositories equivalent to <code>repositoryUrl</code>, like
+     * <code>https://repo1.maven.org/maven2/</code> or a local repository manager: a request to the repository that
+     * is slower than <code>hedgePercentile</code> of observed latencies, or that fails, is sent again to a mirror, and
+     * the first answer is used.
+     */
+    @Parameter( property = "repositoryMirrors" )
+    protected List<String> repoMirrors;
+
+    /**
+     * Percentile of observed repository latencies after which a request is hedged with a mirror.
+     */
+    @Parameter( property = "hedgePercentile", defaultValue = "95" )
+    protected double hedgePercentile;
+
     /**
      * List of configuration line for specific inspection.
      */
@@ -76,6 +108,109 @@ public abstract class AbstractDistCheckMojo
     @Parameter( defaultValue = "${project.build.directory}/dist-tool" )
     protected File failuresDirectory;
 
+    /**
+     * Number of threads of each I/O-bound stage of the check pipeline (metadata fetch, pages fetch, check
+     * evaluation). Whatever the value, reports and failures log keep the configuration order, even for artifacts
+     * whose check was deferred to retry a failed download later.
+     */
+    @Parameter( property = "threads", defaultValue = "1" )
+    protected int threads;
+
+    /**
+     * Run the I/O-bound stages of each artifact check on its own virtual thread instead of <code>threads</code>
+     * platform threads: all configured artifacts are then checked concurrently. Requires JDK 21+, ignored with a
+     * warning on older JDKs.
+     */
+    @Parameter( property = "virtualThreads", defaultValue = "false" )
+    protected boolean virtualThreads;
+
+    /**
+     * Directory where downloaded metadata, directory listings and pages are cached between runs, with their
+     * <code>ETag</code>/<code>Last-Modified</code> headers to revalidate them with conditional GET, and permanent
+     * redirects learned from responses, to send later requests directly to their final url.
+     */
+    @Parameter( property = "httpCacheDirectory", defaultValue = "${project.build.directory}/dist-tool/http-cache" )
+    protected File httpCacheDirectory;
+
+    /**
+     * Maximum number of concurrent requests to one host. The actual limit of each host adapts during the run: it
+     * starts at 4, grows while latency stays flat and is halved on timeouts, 429 or 5xx responses.
+     */
+    @Parameter( property = "maxConnectionsPerHost", defaultValue = "16" )
+    protected int maxConnectionsPerHost;
+
+    /**
+     * Use the JDK HttpClient, available on JDK 11+, negotiating HTTP/2 to multiplex concurrent requests to a host on
+     * one connection, with fallback to HTTP/1.1. Otherwise, or on older JDKs, Apache HttpClient uses HTTP/1.1 with a
+     * pool of connections per host.
+     */
+    @Parameter( property = "http2", defaultValue = "false" )
+    protected boolean http2;
+
+    /**
+     * HTTP connect timeout, in milliseconds.
+     */
+    @Parameter( property = "connectTimeout", defaultValue = "30000" )
+    protected int connectTimeout;
+
+    /**
+     * HTTP read timeout, in milliseconds.
+     */
+    @Parameter( property = "readTimeout", defaultValue = "30000" )
+    protected int readTimeout;
+
+    /**
+     * Deadline for checks, in seconds after build start, shared by every check report of the build: artifacts not
+     * checked when it is reached are reported as "not checked (deadline)" instead of failing the whole build.
+     * Keep a margin for site rendering. 0 means no deadline.
+     */
+    @Parameter( property = "deadline", defaultValue = "0" )
+    protected int deadline;
+
+    @Parameter( defaultValue = "${session.startTime}", readonly = true )
+    private Date buildStartTime;
+
+    /**
+     * Directory where check durations and outcomes of previous runs are kept: artifacts that took longest or failed
+     * most are checked first. Should survive <code>mvn clean</code> to be useful.
+     */
+    @Parameter( property = "historyDirectory", defaultValue = "${project.build.directory}/dist-tool/history" )
+    protected File historyDirectory;
+
+    /**
+     * Resume a previous run: artifacts checked less than <code>resumeMaxAge</code> ago, as recorded in checkpoint
+     * file in failures directory, are not checked again. Without resume, checkpoint is restarted from scratch.
+     */
+    @Parameter( property = "resume", defaultValue = "false" )
+    protected boolean resume;
+
+    /**
+     * Maximum age, in minutes, of checkpointed results reused when resuming a run.
+     */
+    @Parameter( property = "resumeMaxAge", defaultValue = "720" )
+    protected int resumeMaxAge;
+
+    /**
+     * Incremental mode: artifacts which metadata <code>lastUpdated</code> and selected version did not change since
+     * their last check, less than <code>incrementalMaxAge</code> ago, are reported from stored results instead of
+     * being checked again. Results are stored in history directory.
+     */
+    @Parameter( property = "incremental", defaultValue = "false" )
+    protected boolean incremental;
+
+    /**
+     * Maximum age, in hours, of stored results reused in incremental mode: older results are checked again, to
+     * detect changes that do not update metadata (like files removed from distribution area).
+     */
+    @Parameter( property = "incrementalMaxAge", defaultValue = "168" )
+    protected int incrementalMaxAge;
+
+    /**
+     * Facts shared with other check reports of the build.
+     */
+    @Component
+    private SessionFacts facts;
+
     /**
      * list of artifacts repositories.
      */
@@ -88,7 +223,7 @@ public abstract class AbstractDistCheckMojo
      * The configuration in <code>dist-tool.conf</code> looks like this:
      * <pre>artifact-id index-path = /directory/</pre>
      */
-    protected Map<String, String> paths = new HashMap<String, String>();
+    protected Map<String, String> paths = new ConcurrentHashMap<>();
 
     /**
      * Site url mapping, when site url read in pom doesn't get the expected value 
@@ -96,7 +231,27 @@ public abstract class AbstractDistCheckMojo
      * <pre>artifact-id site = site url
      *artifact-id:version site = site url</pre>
      */
-    protected Map<String, String> sites = new HashMap<String, String>();
+    protected Map<String, String> sites = new ConcurrentHashMap<>();
+
+    /**
+     * Artifact being checked by current thread: its error lines are written to failures log
+     * in configuration order once the check is done.
+     */
+    private final ThreadLocal<CheckItem> currentCheck = new ThreadLocal<>();
+
+    private FailureJournal journal;
+
+    private CheckResults results;
+
+    /**
+     * Results of checked artifacts, persisted by the pipeline sink as soon as each check completes.
+     */
+    private CheckCheckpoint checkpoint;
+
+    /**
+     * Latest results of every artifact, kept between runs for incremental mode.
+     */
+    private CheckCheckpoint resultStore;
 
     /**
      * is it index page check mojo?
@@ -109,30 +264,98 @@ public abstract class AbstractDistCheckMojo
     protected abstract void checkArtifact( ConfigurationLineInfo request, String repoBase )
         throws MojoExecutionException;
 
+    /**
+     * Urls that {@link #checkArtifact(ConfigurationLineInfo, String)} will read with {@link #getDocument(String)}:
+     * they are downloaded and parsed in previous stages of the check pipeline.
+     *
+     * @param request the artifact configuration
+     * @param version the artifact version to check
+     * @return the urls to prefetch
+     */
+    protected List<String> getPrefetchUrls( ConfigurationLineInfo request, String version )
+    {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Add to fetch plan the urls that checking an artifact reads: by default, the urls prefetched by the check
+     * pipeline.
+     *
+     * @param plan the fetch plan
+     * @param request the artifact configuration
+     * @param version the artifact version to check, maybe estimated
+     */
+    protected void planFetches( FetchPlan plan, ConfigurationLineInfo request, String version )
+    {
+        for ( String url : getPrefetchUrls( request, version ) )
+        {
+            plan.add( getOutputName(), url );
+        }
+    }
+
+    /**
+     * Get the document at url: prefetched by the check pipeline if available, or read now.
+     *
+     * @param url the url
+     * @return the parsed document
+     * @throws IOException if the document cannot be read
+     */
+    protected Document getDocument( String url )
+        throws IOException
+    {
+        CheckItem item = currentCheck.get();
+        if ( item != null )
+        {
+            Document document = item.documents.get( url );
+            if ( document != null )
+            {
+                return document;
+            }
+            IOException failure = item.fetchErrors.get( url );
+            if ( failure != null )
+            {
+                throw failure;
+            }
+        }
+        return JsoupRetry.get( url );
+    }
+
     protected abstract String getFailuresFilename();
 
     @Override
     public String getOutputName()
     {
-        return "dist-tool-" + getFailuresFilename().replace( ".log", "" );
+        return "dist-tool-" + getCheckName();
+    }
+
+    private String getCheckName()
+    {
+        return getFailuresFilename().replace( ".log", "" );
     }
 
     private void loadConfiguration()
         throws MojoExecutionException
     {
-        URL configuration = Thread.currentThread().getContextClassLoader().getResource( CONF );
-        try ( BufferedReader in = new BufferedReader( new InputStreamReader( configuration.openStream() ) ) )
+        List<String> lines = facts.getConfiguration();
+        if ( lines == null )
         {
-            String text;
-            while ( ( text = in.readLine() ) != null )
+            lines = new ArrayList<>();
+            URL configuration = Thread.currentThread().getContextClassLoader().getResource( CONF );
+            try ( BufferedReader in = new BufferedReader( new InputStreamReader( configuration.openStream() ) ) )
             {
-                configurationLines.add( text );
+                String text;
+                while ( ( text = in.readLine() ) != null )
+                {
+                    lines.add( text );
+                }
             }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "error while reading " + configuration, e );
+            }
+            facts.setConfiguration( lines );
         }
-        catch ( IOException e )
-        {
-            throw new MojoExecutionException( "error while reading " + configuration, e );
-        }
+        configurationLines.addAll( lines );
     }
 
     private ArtifactRepositoryPolicy newArtifactRepositoryPolicy( boolean enabled )
@@ -141,29 +364,326 @@ public abstract class AbstractDistCheckMojo
                                              ArtifactRepositoryPolicy.CHECKSUM_POLICY_WARN );
     }
 
+    /**
+     * Whether checks of this instance already ran, with their failure: rendering a report checked by
+     * {@link DistCheckAllMojo} must not check again.
+     */
+    private boolean checked;
+
+    private MojoExecutionException checkFailure;
+
     @Override
     public void execute()
         throws MojoExecutionException
+    {
+        if ( !checked )
+        {
+            checked = true;
+            try
+            {
+                check();
+            }
+            catch ( MojoExecutionException e )
+            {
+                checkFailure = e;
+            }
+        }
+        if ( checkFailure != null )
+        {
+            throw checkFailure;
+        }
+    }
+
+    /**
+     * Record that checks of this instance ran, with another instance: rendering the report must not check again.
+     *
+     * @param failure the failure of the check, or <code>null</code>
+     */
+    void setChecked( MojoExecutionException failure )
+    {
+        if ( !checked )
+        {
+            checked = true;
+            checkFailure = failure;
+        }
+    }
+
+    /**
+     * Compile the urls that checking every configured artifact reads, without any I/O: versions are selected from
+     * metadata in HTTP cache when available, or estimated.
+     *
+     * @param plan the fetch plan to complete
+     * @throws MojoExecutionException if configuration cannot be read
+     */
+    void planFetches( FetchPlan plan )
+        throws MojoExecutionException
+    {
+        getFacts().startBuild( buildStartTime );
+        if ( configurationLines.isEmpty() )
+        {
+            loadConfiguration();
+        }
+        HttpCache httpCache = facts.getHttpCache( httpCacheDirectory );
+
+        for ( ConfigurationLineInfo artifact : parseConfiguration() )
+        {
+            String metadataUrl = artifact.getMetadataFileURL( repoBaseUrl );
+            plan.add( getOutputName(), metadataUrl );
+
+            String version = planVersion( artifact, httpCache.load( metadataUrl ) );
+            if ( version == null )
+            {
+                plan.addEstimatedVersion();
+                version = ESTIMATED_VERSION;
+            }
+            planFetches( plan, artifact, version );
+        }
+    }
+
+    /**
+     * Select the version to check from cached metadata.
+     *
+     * @return the version, or <code>null</code> if unknown before reading metadata
+     */
+    private static String planVersion( ConfigurationLineInfo artifact, HttpResource cachedMetadata )
+    {
+        VersionRange range = artifact.getVersionRange();
+        if ( ( range != null ) && !range.hasRestrictions() )
+        {
+            return range.getRecommendedVersion().toString();
+        }
+        if ( cachedMetadata == null )
+        {
+            return null;
+        }
+        try ( InputStream input = cachedMetadata.openStream() )
+        {
+            MetadataSummary metadata = MetadataSummary.read( input, range != null );
+            if ( range == null )
+            {
+                return metadata.getLatest();
+            }
+            ArtifactVersion matched = metadata.getVersionIndex().match( range );
+            return ( matched == null ) ? null : matched.toString();
+        }
+        catch ( IOException | XmlPullParserException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Configure this check like another check of the build, to be run by {@link DistCheckAllMojo}.
+     *
+     * @param other the configured check
+     */
+    void configureLike( AbstractDistCheckMojo other )
+    {
+        setLog( other.getLog() );
+        setPluginContext( other.getPluginContext() );
+        project = other.project;
+        outputDirectory = other.outputDirectory;
+        setReportOutputDirectory( other.getReportOutputDirectory() );
+
+        repoBaseUrl = other.repoBaseUrl;
+        repoMirrors = other.repoMirrors;
+        hedgePercentile = other.hedgePercentile;
+        configurationLines = new ArrayList<>();
+        if ( other.configurationLines != null )
+        {
+            configurationLines.addAll( other.configurationLines );
+        }
+        failuresDirectory = other.failuresDirectory;
+        threads = other.threads;
+        virtualThreads = other.virtualThreads;
+        httpCacheDirectory = other.httpCacheDirectory;
+        maxConnectionsPerHost = other.maxConnectionsPerHost;
+        http2 = other.http2;
+        connectTimeout = other.connectTimeout;
+        readTimeout = other.readTimeout;
+        deadline = other.deadline;
+        if ( other.buildStartTime == null )
+        {
+            // not run by Maven: same build for every check
+            other.buildStartTime = new Date();
+        }
+        buildStartTime = other.buildStartTime;
+        historyDirectory = other.historyDirectory;
+        resume = other.resume;
+        resumeMaxAge = other.resumeMaxAge;
+        incremental = other.incremental;
+        incrementalMaxAge = other.incrementalMaxAge;
+        facts = other.getFacts();
+    }
+
+    /**
+     * Configure the run of this check like another check of the build, after it read configuration: this check
+     * shares the artifacts and the check pipeline of the other check.
+     *
+     * @param other the check running the pipeline
+     */
+    void configureRunLike( AbstractDistCheckMojo other )
+    {
+        distributionAreaUrl = other.distributionAreaUrl;
+        paths.putAll( other.paths );
+        sites.putAll( other.sites );
+        artifactRepositories.addAll( other.artifactRepositories );
+    }
+
+    /**
+     * Facts shared with other check reports of the build, created if not run by Maven.
+     */
+    SessionFacts getFacts()
+    {
+        if ( facts == null )
+        {
+            // not run by Maven: nothing shared
+            facts = new SessionFacts();
+        }
+        return facts;
+    }
+
+    /**
+     * Check every configured artifact.
+     *
+     * @throws MojoExecutionException if a check failed
+     */
+    protected void check()
+        throws MojoExecutionException
     {
         ArtifactRepository aa =
             new MavenArtifactRepository( "central", repoBaseUrl, new DefaultRepositoryLayout(),
                                          newArtifactRepositoryPolicy( false ), newArtifactRepositoryPolicy( true ) );
         artifactRepositories.add( aa );
 
+        getFacts().startBuild( buildStartTime );
+
         if ( configurationLines.isEmpty() )
         {
             loadConfiguration();
         }
 
-        File failures = getFailuresFile();
-        if ( failures.exists() )
+        HttpFetcher.setListener( getLog()::warn );
+        HttpCache httpCache = facts.getHttpCache( httpCacheDirectory );
+        HttpFetcher.setCache( httpCache );
+        RedirectCache redirects = facts.getRedirectCache( httpCacheDirectory );
+        HttpFetcher.setRedirectCache( redirects );
+        if ( http2 && !JdkHttpTransport.isAvailable() )
+        {
+            getLog().warn( "HTTP/2 requires JDK 11+, running on Java " + System.getProperty( "java.version" )
+                + ": using HTTP/1.1" );
+        }
+        HttpFetcher.configureTransport( connectTimeout, readTimeout, maxConnectionsPerHost, http2 );
+        List<String> mirrors = new ArrayList<>();
+        mirrors.add( repoBaseUrl );
+        if ( repoMirrors != null )
+        {
+            mirrors.addAll( repoMirrors );
+        }
+        HttpFetcher.configureMirrors( mirrors, hedgePercentile );
+
+        boolean useVirtualThreads = virtualThreads && VirtualThreads.isAvailable();
+        if ( virtualThreads && !useVirtualThreads )
+        {
+            getLog().warn( "Virtual threads require JDK 21+, running on Java " + System.getProperty( "java.version" )
+                + ": using " + Math.max( threads, 1 ) + " thread(s) per stage" );
+        }
+        CheckPipeline pipeline = new CheckPipeline( this, Math.max( threads, 1 ), useVirtualThreads );
+        try
+        {
+            checkConfiguration( pipeline );
+        }
+        finally
+        {
+            pipeline.shutdown();
+            closeRun();
+            getLog().info( pipeline.getStatistics() );
+            saveRedirects( redirects );
+            logHttpStatistics( httpCache );
+            getLog().info( redirects.toString() );
+            getLog().info( "Shared with other reports of the build: " + facts.getMetadataCount() + " metadata" );
+        }
+    }
+
+    private void saveRedirects( RedirectCache redirects )
+    {
+        try
+        {
+            redirects.save();
+        }
+        catch ( IOException ioe )
+        {
+            getLog().warn( "Cannot save permanent redirects: " + ioe.getMessage() );
+        }
+    }
+
+    private void logHttpStatistics( HttpCache httpCache )
+    {
+        getLog().info( "" );
+        getLog().info( httpCache.toString() );
+        for ( CircuitBreaker outage : HttpFetcher.getHostOutages() )
+        {
+            getLog().warn( "Host outage: " + outage.getHost() + " was down " + outage.getOutages() + " time(s), "
+                + outage.getRejected() + " request(s) failed fast" );
+        }
+        getLog().info( "Coalesced in-flight duplicates: " + HttpFetcher.getCoalescedRequests() + " downloads, "
+            + JsoupRetry.getCoalescedParses() + " parsed pages" );
+        if ( HttpFetcher.getMirrors() != null )
+        {
+            getLog().info( HttpFetcher.getMirrors().toString() );
+        }
+        for ( RateLimiter rateLimiter : HttpFetcher.getRateLimiters() )
+        {
+            getLog().info( "Rate limit: " + rateLimiter );
+        }
+        for ( AdaptiveConcurrencyLimit concurrencyLimit : HttpFetcher.getConcurrencyLimits() )
+        {
+            getLog().info( "Concurrency limit: " + concurrencyLimit );
+            getLog().debug( "  changes: " + concurrencyLimit.getChanges() );
+        }
+        getLog().debug( HttpFetcher.getTransport().toString() );
+    }
+
+    private void parseHostParameter( String param, String value, String line )
+        throws MojoExecutionException
+    {
+        int index = param.indexOf( ' ' );
+        if ( index < 0 )
+        {
+            throw new MojoExecutionException( "unparseable host configuration line: " + line );
+        }
+        String host = param.substring( 0, index );
+        param = param.substring( index ).trim();
+
+        if ( "max-rps".equals( param ) )
         {
-            failures.delete();
+            try
+            {
+                HttpFetcher.setRateLimit( host, Double.parseDouble( value ) );
+            }
+            catch ( IllegalArgumentException iae )
+            {
+                throw new MojoExecutionException( "invalid max-rps value '" + value + "' in configuration line: "
+                    + line, iae );
+            }
         }
         else
         {
-            failuresDirectory.mkdirs();
+            throw new MojoExecutionException( "unknown host parameter '" + param + "' in configuration line: "
+                + line );
         }
+    }
+
+    /**
+     * Parse configuration lines: parameters are applied, artifacts to check are returned.
+     *
+     * @return artifacts to check, in configuration order
+     */
+    private List<ConfigurationLineInfo> parseConfiguration()
+        throws MojoExecutionException
+    {
+        List<ConfigurationLineInfo> artifacts = new ArrayList<>();
+        int position = 0;
 
         ConfigurationLineInfo currentGroup = null;
         for ( String line : configurationLines )
@@ -198,6 +718,11 @@ public abstract class AbstractDistCheckMojo
                 {
                     distributionAreaUrl = value;
                 }
+                else if ( param.startsWith( "host " ) )
+                {
+                    // parameter for a host
+                    parseHostParameter( param.substring( "host ".length() ).trim(), value, line );
+                }
                 else if ( param.contains( " " ) )
                 {
                     // parameter for an artifactId
@@ -242,6 +767,7 @@ public abstract class AbstractDistCheckMojo
             else
             {
                 // artifact definition
+                boolean indexPageOnly = false;
                 if ( line.startsWith( "*" ) )
                 {
                     // special artifact
@@ -253,6 +779,7 @@ public abstract class AbstractDistCheckMojo
 
                     // remove the asterisk before running the check
                     line = line.substring( 1 ).trim();
+                    indexPageOnly = true;
                 }
 
                 try
@@ -263,80 +790,595 @@ public abstract class AbstractDistCheckMojo
                 {
                     throw new MojoExecutionException( e.getMessage() );
                 }
+                aLine.setIndexPageOnly( indexPageOnly );
             }
 
-            checkArtifact( aLine, getVersion( aLine ) );
+            aLine.setPosition( position++ );
+
+            artifacts.add( aLine );
         }
 
-        getLog().info( "" );
+        return artifacts;
     }
 
-    private String getVersion( ConfigurationLineInfo aLine )
+    private void checkConfiguration( CheckPipeline pipeline )
         throws MojoExecutionException
     {
-        String metadataUrl = aLine.getMetadataFileURL( repoBaseUrl );
-        try ( InputStream input = new BufferedInputStream( new URL( metadataUrl ).openStream() ) )
+        List<ConfigurationLineInfo> artifacts = parseConfiguration();
+        prepareRun();
+
+        CheckHistory history = new CheckHistory( new File( historyDirectory, getOutputName() + ".properties" ) );
+        try
+        {
+            history.load();
+        }
+        catch ( IOException e )
         {
-            MetadataXpp3Reader metadataReader = new MetadataXpp3Reader();
-            Metadata metadata = metadataReader.read( input );
+            getLog().warn( "Cannot read check history, checking in configuration order: " + e.getMessage() );
+        }
 
-            aLine.setMetadata( metadata );
+        long deadlineNanos = getDeadlineNanos();
+        if ( deadlineNanos != Long.MAX_VALUE )
+        {
+            pipeline.cancelAt( deadlineNanos );
+        }
 
-            String version;
-            if ( aLine.getVersionRange() != null )
+        Map<ConfigurationLineInfo, CheckItem> items = new HashMap<>();
+        Map<ConfigurationLineInfo, CheckItem> toCheck = new LinkedHashMap<>();
+        for ( ConfigurationLineInfo artifact : artifacts )
+        {
+            CheckItem item = newItem( artifact );
+            if ( restoreItem( item ) )
             {
-                if ( aLine.getVersionRange().hasRestrictions() )
-                {
-                    List<ArtifactVersion> artifactVersions = new ArrayList<>();
-                    for ( String versioningVersion : metadata.getVersioning().getVersions() )
-                    {
-                        artifactVersions.add( new DefaultArtifactVersion( versioningVersion ) );
-                    }
-                    version = aLine.getVersionRange().matchVersion( artifactVersions ).toString();
-                }
-                else
-                {
-                    version = aLine.getVersionRange().getRecommendedVersion().toString();
-                }
-                aLine.setForceVersion( version );
+                items.put( artifact, pipeline.submitRestored( item ) );
             }
             else
             {
-                version = metadata.getVersioning().getLatest();
+                toCheck.put( artifact, item );
             }
-            
-            if ( getLog().isDebugEnabled() )
+        }
+
+        // longest or most failing checks first, when known from previous runs
+        for ( ConfigurationLineInfo artifact : history.sortByPriority( new ArrayList<>( toCheck.keySet() ) ) )
+        {
+            if ( pipeline.isCancelled() )
             {
-                getLog().debug( "  available versions in repository " + repoBaseUrl );
-                // revert sort versions (not handling alpha and
-                // complex version schemes but more useful versions are displayed left side)
-                Collections.sort( metadata.getVersioning().getVersions(), Collections.reverseOrder() );
-                getLog().debug( "    " + metadata.getVersioning().getVersions() );
+                break;
             }
+            items.put( artifact, pipeline.submit( toCheck.get( artifact ) ) );
+        }
 
-            if ( aLine.getForcedVersion() != null )
+        try
+        {
+            // wait for checks in configuration order: error lines are written by the pipeline sink
+            boolean complete = true;
+            for ( ConfigurationLineInfo artifact : artifacts )
             {
-                if ( aLine.getVersionRange().hasRestrictions() )
+                CheckItem item = items.get( artifact );
+                if ( ( item == null ) || !awaitCheck( item, deadlineNanos ) )
                 {
-                    getLog().debug( aLine.getGroupId() + ":" + aLine.getArtifactId()
-                                        + " metadata latest version value is " + metadata.getVersioning().getLatest()
-                                        + " but check was restricted to " + aLine.getVersionRange()
-                                        + " which selected " + aLine.getForcedVersion() );
-                }
-                else
-                {
-                    getLog().info( aLine.getGroupId() + ":" + aLine.getArtifactId()
-                                   + " metadata latest version value is " + metadata.getVersioning().getLatest()
-                                   + " but check was manually set to " + aLine.getForcedVersion() );
+                    complete = false;
+                    break;
                 }
             }
-           
-            return version;
+
+            if ( !complete )
+            {
+                getLog().warn( "Deadline reached: cancelling remaining checks" );
+                pipeline.cancel();
+                pipeline.awaitEvaluations();
+                pipeline.drainSink();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( "interrupted while checking artifacts", e );
+        }
+
+        Throwable failure = finishRun( artifacts, items );
+        for ( ConfigurationLineInfo artifact : artifacts )
+        {
+            CheckItem item = items.get( artifact );
+            if ( ( item != null ) && item.done.isDone() && !item.notChecked && !item.restored )
+            {
+                history.record( artifact, TimeUnit.NANOSECONDS.toMillis( item.busyNanos ),
+                                ( item.failure != null ) || item.hasErrors() );
+            }
+        }
+        try
+        {
+            history.save();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Cannot write check history: " + e.getMessage() );
+        }
+
+        if ( failure != null )
+        {
+            throw toMojoExecutionException( failure );
+        }
+    }
+
+    static MojoExecutionException toMojoExecutionException( Throwable failure )
+    {
+        if ( ( failure == null ) || ( failure instanceof MojoExecutionException ) )
+        {
+            return ( MojoExecutionException ) failure;
+        }
+        return new MojoExecutionException( failure.getMessage(), failure );
+    }
+
+    /**
+     * Prepare the files written during the run: failures journal, check results, checkpoint and result store.
+     */
+    protected void prepareRun()
+    {
+        failuresDirectory.mkdirs();
+        journal = new FailureJournal( getCheckName(), getFailuresFile(), getJournalFile() );
+        journal.reset();
+        getResultsFile().delete();
+        results = new CheckResults( getResultsFile(), getCheckName(), getOutputName() );
+
+        checkpoint = new CheckCheckpoint( getCheckpointFile() );
+        try
+        {
+            if ( resume )
+            {
+                checkpoint.load( TimeUnit.MINUTES.toMillis( resumeMaxAge ) );
+                getLog().info( "Resuming from " + checkpoint.size() + " artifact(s) checked less than "
+                    + resumeMaxAge + " minutes ago" );
+            }
+            else
+            {
+                checkpoint.clear();
+            }
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Cannot read checkpoint, checking every artifact: " + e.getMessage() );
+        }
+
+        resultStore = new CheckCheckpoint( new File( historyDirectory, getOutputName() + "-results.properties" ) );
+        try
+        {
+            resultStore.load( TimeUnit.HOURS.toMillis( incrementalMaxAge ) );
+            if ( incremental )
+            {
+                getLog().info( "Incremental mode: " + resultStore.size() + " stored result(s) less than "
+                    + incrementalMaxAge + " hours old" );
+            }
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Cannot read stored results, checking every artifact: " + e.getMessage() );
+        }
+    }
+
+    /**
+     * Close the files written during the run, once checks are done.
+     */
+    protected void closeRun()
+    {
+        if ( checkpoint != null )
+        {
+            closeCheckpoint();
+        }
+        if ( journal != null )
+        {
+            closeJournal();
+        }
+    }
+
+    /**
+     * Record results of the run, once every artifact was checked or the deadline reached.
+     *
+     * @param artifacts the artifacts to check, in configuration order
+     * @param items the submitted items, by artifact
+     * @return the first failure of a check in configuration order, or <code>null</code>
+     */
+    Throwable finishRun( List<ConfigurationLineInfo> artifacts, Map<ConfigurationLineInfo, CheckItem> items )
+    {
+        Throwable failure = null;
+        int notCheckedCount = 0;
+        for ( ConfigurationLineInfo artifact : artifacts )
+        {
+            CheckItem item = items.get( artifact );
+            if ( ( item == null ) || !item.done.isDone() || item.notChecked )
+            {
+                notChecked( artifact, ( item == null ) ? null : item.version, "deadline" );
+                notCheckedCount++;
+                results.record( artifact, ( item == null ) ? null : item.version, CheckResults.Status.NOT_CHECKED, 0,
+                                false, Collections.<Failure>emptyList() );
+                continue;
+            }
+            results.record( artifact, item.version, ( item.failure == null ) ? null : CheckResults.Status.FAILED,
+                            TimeUnit.NANOSECONDS.toMillis( item.busyNanos ), item.restored, item.failures );
+            if ( failure == null )
+            {
+                failure = item.failure;
+            }
+        }
+        results.setMillis( System.currentTimeMillis() - results.getTime() );
+        saveResults();
+        if ( notCheckedCount > 0 )
+        {
+            getLog().warn( notCheckedCount + " artifact(s) not checked before deadline" );
+        }
+        return failure;
+    }
+
+    /**
+     * @param artifact the artifact to check
+     * @return a new item to submit to the check pipeline
+     */
+    CheckItem newItem( ConfigurationLineInfo artifact )
+    {
+        return new CheckItem( artifact.getPosition(), artifact );
+    }
+
+    /**
+     * When resuming, restore an artifact recorded in checkpoint instead of checking it again.
+     *
+     * @param item the artifact
+     * @return <code>true</code> if restored
+     */
+    boolean restoreItem( CheckItem item )
+    {
+        CheckCheckpoint.Entry entry = checkpoint.get( item.configLine );
+        if ( ( entry == null ) || !restore( item.configLine, entry ) )
+        {
+            return false;
+        }
+        item.version = entry.version;
+        item.failures.addAll( entry.failures );
+        item.restored = true;
+        return true;
+    }
+
+    private boolean restore( ConfigurationLineInfo artifact, CheckCheckpoint.Entry entry )
+    {
+        if ( entry.lastUpdated != null )
+        {
+            artifact.setLastUpdated( entry.lastUpdated );
+        }
+        if ( artifact.getVersionRange() != null )
+        {
+            artifact.setForceVersion( entry.version );
+        }
+        return restoreCheckpoint( artifact, entry.version, entry.state ) != null;
+    }
+
+    /**
+     * In incremental mode, restore the stored result of an artifact if neither its metadata nor its selected
+     * version changed since it was checked.
+     */
+    void restoreUnchanged( CheckItem item )
+    {
+        CheckCheckpoint.Entry entry = resultStore.get( item.configLine );
+        if ( ( entry == null ) || !entry.version.equals( item.version ) || ( entry.lastUpdated == null )
+            || !entry.lastUpdated.equals( item.configLine.getLastUpdated() ) )
+        {
+            return;
+        }
+        AbstractCheckResult result = restoreCheckpoint( item.configLine, item.version, entry.state );
+        if ( result != null )
+        {
+            result.setCached( new Date( entry.time ) );
+            item.failures.addAll( entry.failures );
+            item.restored = true;
+        }
+    }
+
+    /**
+     * Record the result of a checked artifact in checkpoint and result store: called by the pipeline sink.
+     */
+    void checkpoint( CheckItem item )
+    {
+        Map<String, String> state = getCheckpointState( item.configLine );
+        if ( state == null )
+        {
+            return;
+        }
+        CheckCheckpoint.Entry entry = new CheckCheckpoint.Entry( item.version, item.configLine.getLastUpdated(),
+                                                                 item.failures, state,
+                                                                 System.currentTimeMillis() );
+        for ( CheckCheckpoint store : new CheckCheckpoint[] { checkpoint, resultStore } )
+        {
+            try
+            {
+                store.record( item.configLine, entry );
+            }
+            catch ( IOException e )
+            {
+                getLog().warn( "Cannot write check result: " + e.getMessage() );
+            }
+        }
+    }
+
+    private void closeCheckpoint()
+    {
+        for ( CheckCheckpoint store : new CheckCheckpoint[] { checkpoint, resultStore } )
+        {
+            try
+            {
+                store.close();
+            }
+            catch ( IOException e )
+            {
+                getLog().warn( "Cannot write check result: " + e.getMessage() );
+            }
         }
-        catch ( IOException | XmlPullParserException ex )
+    }
+
+    private File getCheckpointFile()
+    {
+        return new File( failuresDirectory, getFailuresFilename().replace( ".log", "-checkpoint.properties" ) );
+    }
+
+    /**
+     * Report state of a checked artifact, to be stored in checkpoint.
+     *
+     * @param request the artifact configuration
+     * @return the state, or <code>null</code> if the result cannot be checkpointed
+     */
+    protected Map<String, String> getCheckpointState( ConfigurationLineInfo request )
+    {
+        return null;
+    }
+
+    /**
+     * Restore report state of an artifact checked in a previous run, instead of checking it again.
+     *
+     * @param request the artifact configuration
+     * @param version the checked version
+     * @param state the state returned by {@link #getCheckpointState(ConfigurationLineInfo)}
+     * @return the restored result, or <code>null</code> if the artifact has to be checked again
+     */
+    protected AbstractCheckResult restoreCheckpoint( ConfigurationLineInfo request, String version,
+                                                     Map<String, String> state )
+    {
+        return null;
+    }
+
+    /**
+     * Add a mark to results reported from a previous check, in incremental mode.
+     *
+     * @param sink doxiasink
+     * @param result the artifact result
+     */
+    protected void cachedMark( Sink sink, AbstractCheckResult result )
+    {
+        if ( result.isCached() )
+        {
+            sink.text( " (cached " + new SimpleDateFormat( "yyyy-MM-dd" ).format( result.getCachedDate() ) + ")" );
+        }
+    }
+
+    /**
+     * Encode a list of values without line breaks in checkpoint state.
+     *
+     * @param values the values, may be <code>null</code>
+     * @return the encoded values
+     */
+    protected static String toStateValue( List<String> values )
+    {
+        return ( values == null ) ? null : String.join( "\n", values );
+    }
+
+    /**
+     * Decode a list of values from checkpoint state.
+     *
+     * @param value the encoded values, may be <code>null</code>
+     * @return the values
+     */
+    protected static List<String> fromStateValue( String value )
+    {
+        if ( value == null )
+        {
+            return null;
+        }
+        return value.isEmpty() ? new ArrayList<String>() : new ArrayList<>( Arrays.asList( value.split( "\n" ) ) );
+    }
+
+    /**
+     * Wait for a check to complete, until the deadline.
+     *
+     * @return <code>false</code> if the deadline was reached
+     */
+    private boolean awaitCheck( CheckItem item, long deadlineNanos )
+        throws InterruptedException
+    {
+        try
+        {
+            if ( deadlineNanos == Long.MAX_VALUE )
+            {
+                item.done.get();
+            }
+            else
+            {
+                item.done.get( Math.max( 0, deadlineNanos - System.nanoTime() ), TimeUnit.NANOSECONDS );
+            }
+            return !item.notChecked;
+        }
+        catch ( TimeoutException e )
+        {
+            return false;
+        }
+        catch ( ExecutionException e )
+        {
+            // not expected: the sink always completes normally
+            throw new IllegalStateException( e.getCause() );
+        }
+    }
+
+    /**
+     * @return deadline for checks compared to {@link System#nanoTime()}, or <code>Long.MAX_VALUE</code> if none
+     */
+    private long getDeadlineNanos()
+    {
+        if ( deadline <= 0 )
+        {
+            return Long.MAX_VALUE;
+        }
+        long start = ( buildStartTime == null ) ? System.currentTimeMillis() : buildStartTime.getTime();
+        long remainingMillis = start + TimeUnit.SECONDS.toMillis( deadline ) - System.currentTimeMillis();
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( remainingMillis );
+    }
+
+    /**
+     * Record an artifact that was not checked, to be displayed in the report.
+     *
+     * @param request the artifact configuration
+     * @param version the artifact version, <code>null</code> if not known
+     * @param reason why it was not checked
+     */
+    protected void notChecked( ConfigurationLineInfo request, String version, String reason )
+    {
+        // not displayed by default
+    }
+
+    /**
+     * Write a table cell for an artifact that was not checked.
+     *
+     * @param sink doxiasink
+     * @param result the artifact result
+     */
+    protected void notCheckedCell( Sink sink, AbstractCheckResult result )
+    {
+        sink.tableCell();
+        iconWarning( sink );
+        sink.text( "not checked (" + result.getNotCheckedReason() + ")" );
+        sink.tableCell_();
+    }
+
+    /**
+     * Metadata stage of the check pipeline.
+     */
+    void resolveVersion( CheckItem item )
+        throws MojoExecutionException
+    {
+        item.version = getVersion( item.configLine );
+        if ( incremental )
+        {
+            restoreUnchanged( item );
+        }
+    }
+
+    /**
+     * Fetch stage of the check pipeline.
+     *
+     * @return the urls to prefetch for the item
+     */
+    List<String> getPrefetchUrls( CheckItem item )
+    {
+        return getPrefetchUrls( item.configLine, item.version );
+    }
+
+    /**
+     * @return the artifact being checked by current thread, <code>null</code> if none
+     */
+    CheckItem getCurrentCheck()
+    {
+        return currentCheck.get();
+    }
+
+    /**
+     * Evaluation stage of the check pipeline.
+     */
+    void evaluate( CheckItem item )
+        throws MojoExecutionException
+    {
+        // a deferred check is run again from scratch
+        item.failures.clear();
+        currentCheck.set( item );
+        try
+        {
+            checkArtifact( item.configLine, item.version );
+        }
+        finally
+        {
+            currentCheck.remove();
+        }
+    }
+
+    private static MetadataSummary readMetadata( String metadataUrl, boolean withVersions )
+        throws IOException, XmlPullParserException
+    {
+        try ( InputStream input = HttpFetcher.get( metadataUrl ).openStream() )
+        {
+            return MetadataSummary.read( input, withVersions );
+        }
+    }
+
+    String getVersion( ConfigurationLineInfo aLine )
+        throws MojoExecutionException
+    {
+        String metadataUrl = aLine.getMetadataFileURL( repoBaseUrl );
+        // available versions are only needed to match a version range, or to be logged
+        boolean withVersions = ( ( aLine.getVersionRange() != null ) && aLine.getVersionRange().hasRestrictions() )
+            || getLog().isDebugEnabled();
+        MetadataSummary metadata;
+        try
+        {
+            metadata = facts.getMetadata( metadataUrl, withVersions, () -> readMetadata( metadataUrl, withVersions ) );
+        }
+        catch ( DeferredRetryException dre )
+        {
+            // resolution will be run again later
+            throw dre;
+        }
+        catch ( Exception ex )
         {
             throw new MojoExecutionException( "error while reading " + metadataUrl, ex );
         }
+
+        aLine.setMetadata( metadata );
+
+        String version;
+        if ( aLine.getVersionRange() != null )
+        {
+            if ( aLine.getVersionRange().hasRestrictions() )
+            {
+                version = metadata.getVersionIndex().match( aLine.getVersionRange() ).toString();
+            }
+            else
+            {
+                version = aLine.getVersionRange().getRecommendedVersion().toString();
+            }
+            aLine.setForceVersion( version );
+        }
+        else
+        {
+            version = metadata.getLatest();
+        }
+        
+        if ( getLog().isDebugEnabled() )
+        {
+            getLog().debug( "  available versions in repository " + repoBaseUrl );
+            // more useful versions are displayed left side
+            getLog().debug( "    " + metadata.getVersionIndex().getVersionsDescending() );
+        }
+
+        if ( aLine.getForcedVersion() != null )
+        {
+            if ( aLine.getVersionRange().hasRestrictions() )
+            {
+                getLog().debug( aLine.getGroupId() + ":" + aLine.getArtifactId()
+                                    + " metadata latest version value is " + metadata.getLatest()
+                                    + " but check was restricted to " + aLine.getVersionRange()
+                                    + " which selected " + aLine.getForcedVersion() );
+            }
+            else
+            {
+                getLog().info( aLine.getGroupId() + ":" + aLine.getArtifactId()
+                               + " metadata latest version value is " + metadata.getLatest()
+                               + " but check was manually set to " + aLine.getForcedVersion() );
+            }
+        }
+       
+        return version;
     }
 
     /**
@@ -390,37 +1432,148 @@ public abstract class AbstractDistCheckMojo
     }
     
     /**
-     * Log and add Error line to logs.txt if not configured to ignore the artifact+version
+     * Log and add Error line to the failures log if not configured to ignore the artifact+version, and record it in
+     * the failures journal.
      * 
      * @param cli {@link ConfigurationLineInfo}
      * @param version The version.
      * @param ignore the list of ignores.
+     * @param category the failure category, like <code>missing-file</code>
+     * @param url the url where the failure was found, or <code>null</code>
      * @param message  The message.
      */
-    protected void addErrorLine( ConfigurationLineInfo cli, String version, List<String> ignore, String message ) 
+    protected void addErrorLine( ConfigurationLineInfo cli, String version, List<String> ignore, String category,
+                                 String url, String message )
     {
-        if ( ( ignore != null )
-            && ( ignore.contains( cli.getArtifactId() + ':' + version ) || ignore.contains( cli.getArtifactId() ) ) )
+        boolean ignored = ( ignore != null )
+            && ( ignore.contains( cli.getArtifactId() + ':' + version ) || ignore.contains( cli.getArtifactId() ) );
+        if ( ignored )
         {
             getLog().warn( message );
         }
         else
         {
             getLog().error( message );
+        }
 
-            try ( PrintWriter output = new PrintWriter( new FileWriter( getFailuresFile(), true ) ) )
+        Failure failure = new Failure( category, url, ignored, message );
+        CheckItem item = currentCheck.get();
+        if ( item != null )
+        {
+            // artifact check: written later, in configuration order
+            item.failures.add( failure );
+        }
+        else
+        {
+            // found while rendering the report: written by reportRendered()
+            writeFailures( cli, version, Collections.singletonList( failure ) );
+            if ( results != null )
             {
-                output.printf( "%s%s", message, EOL );
+                results.addFailures( cli, version, Collections.singletonList( failure ) );
             }
-            catch ( Exception e )
+        }
+    }
+
+    /**
+     * Write the failures found while rendering the report to the failures files and check results: to be called
+     * once, when rendering is finished.
+     */
+    protected void reportRendered()
+    {
+        if ( journal != null )
+        {
+            closeJournal();
+        }
+        if ( results != null )
+        {
+            saveResults();
+        }
+    }
+
+    private void saveResults()
+    {
+        try
+        {
+            results.save();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Cannot write check results: " + e.getMessage() );
+        }
+    }
+
+    /**
+     * Write failures of a checked item: called by the pipeline sink, in configuration order. Flushed for each
+     * artifact, so that the failures files of an interrupted run are complete up to the last artifact written.
+     */
+    void writeFailures( CheckItem item )
+    {
+        writeFailures( item.configLine, item.version, item.failures );
+        if ( !item.failures.isEmpty() )
+        {
+            try
             {
-                getLog().error( "Cannot append to " + getFailuresFilename() );
+                journal.flush();
             }
+            catch ( IOException e )
+            {
+                getLog().error( "Cannot write " + getFailuresFilename() + ": " + e.getMessage() );
+            }
+        }
+    }
+
+    void writeFailures( ConfigurationLineInfo cli, String version, List<Failure> failures )
+    {
+        if ( failures.isEmpty() )
+        {
+            return;
+        }
+
+        if ( journal == null )
+        {
+            // not written by a check run
+            journal = new FailureJournal( getCheckName(), getFailuresFile(), getJournalFile() );
+        }
+        try
+        {
+            journal.write( cli, version, failures );
+        }
+        catch ( IOException e )
+        {
+            getLog().error( "Cannot append to " + getFailuresFilename() + ": " + e.getMessage() );
+        }
+    }
+
+    private void closeJournal()
+    {
+        try
+        {
+            journal.close();
+        }
+        catch ( IOException e )
+        {
+            getLog().error( "Cannot write " + getFailuresFilename() + ": " + e.getMessage() );
         }
     }
 
-    private File getFailuresFile()
+    File getFailuresFile()
     {
         return new File( failuresDirectory, getFailuresFilename() );
     }
+
+    /**
+     * @return the results of the check run, read by <code>check-errors</code>
+     */
+    File getResultsFile()
+    {
+        return new File( failuresDirectory, getFailuresFilename().replace( ".log", CheckResults.SUFFIX ) );
+    }
+
+    /**
+     * @return the failures journal, in JSON Lines
+     */
+    File getJournalFile()
+    {
+        return new File( failuresDirectory, getFailuresFilename().replace( ".log", ".jsonl" ) );
+    }
 }
@@ -0,0 +1,323 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Results of artifacts checked in current or previous runs, persisted as soon as each check completes: a run that
+ * died partway can be resumed without checking again artifacts checked recently.
+ * Stored as an append-only properties file, with one <code>groupId:artifactId[:versionRange]</code> entry per
+ * checked artifact: later entries replace earlier ones.
+ */
+class CheckCheckpoint
+{
+    private static final String FAILURE = "failure";
+
+    private static final String CATEGORY = "category";
+
+    private static final String URL = "url";
+
+    private static final String IGNORED = "ignored";
+
+    private static final String MESSAGE = "message";
+
+    private static final String STATE = "state.";
+
+    private static final String VERSION = "version";
+
+    private static final String LAST_UPDATED = "lastUpdated";
+
+    private static final String TIME = "time";
+
+    /**
+     * Result of a checked artifact.
+     */
+    static class Entry
+    {
+        final String version;
+
+        final String lastUpdated;
+
+        final List<Failure> failures;
+
+        final Map<String, String> state;
+
+        final long time;
+
+        Entry( String version, String lastUpdated, List<Failure> failures, Map<String, String> state, long time )
+        {
+            this.version = version;
+            this.lastUpdated = lastUpdated;
+            this.failures = failures;
+            this.state = state;
+            this.time = time;
+        }
+    }
+
+    private final File file;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private Writer output;
+
+    CheckCheckpoint( File file )
+    {
+        this.file = file;
+    }
+
+    /**
+     * Load entries more recent than given age, then rewrite the file with only these entries.
+     *
+     * @param maxAgeMillis maximum age of entries to keep
+     * @throws IOException if the file cannot be read or rewritten
+     */
+    void load( long maxAgeMillis )
+        throws IOException
+    {
+        if ( !file.isFile() )
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        try ( InputStream in = Files.newInputStream( file.toPath() ) )
+        {
+            properties.load( in );
+        }
+
+        long oldest = System.currentTimeMillis() - maxAgeMillis;
+        for ( String key : properties.stringPropertyNames() )
+        {
+            Entry entry = decode( properties.getProperty( key ) );
+            if ( ( entry != null ) && ( entry.time >= oldest ) )
+            {
+                entries.put( key, entry );
+            }
+        }
+
+        // compact: drop stale and replaced entries
+        File tmp = new File( file.getPath() + ".tmp" );
+        try ( Writer out = Files.newBufferedWriter( tmp.toPath(), StandardCharsets.ISO_8859_1 ) )
+        {
+            for ( Map.Entry<String, Entry> entry : entries.entrySet() )
+            {
+                out.write( toLine( entry.getKey(), entry.getValue() ) );
+            }
+        }
+        Files.move( tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    }
+
+    /**
+     * Delete previous results: start a new run from scratch.
+     */
+    void clear()
+        throws IOException
+    {
+        entries.clear();
+        Files.deleteIfExists( file.toPath() );
+    }
+
+    /**
+     * @param cli the artifact
+     * @return the recent result of the artifact, or <code>null</code> if it has to be checked
+     */
+    Entry get( ConfigurationLineInfo cli )
+    {
+        return entries.get( CheckHistory.key( cli ) );
+    }
+
+    int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Append the result of a checked artifact, and flush it to disk.
+     *
+     * @param cli the artifact
+     * @param entry its result
+     * @throws IOException if the result cannot be written
+     */
+    void record( ConfigurationLineInfo cli, Entry entry )
+        throws IOException
+    {
+        if ( output == null )
+        {
+            file.getParentFile().mkdirs();
+            output = Files.newBufferedWriter( file.toPath(), StandardCharsets.ISO_8859_1, StandardOpenOption.CREATE,
+                                              StandardOpenOption.APPEND );
+        }
+        output.write( toLine( CheckHistory.key( cli ), entry ) );
+        output.flush();
+    }
+
+    void close()
+        throws IOException
+    {
+        if ( output != null )
+        {
+            output.close();
+            output = null;
+        }
+    }
+
+    private static String toLine( String key, Entry entry )
+        throws IOException
+    {
+        // use properties escaping, without the date comment
+        Properties properties = new Properties();
+        properties.setProperty( key, encode( entry ) );
+        StringWriter sw = new StringWriter();
+        properties.store( sw, null );
+        StringBuilder line = new StringBuilder();
+        for ( String l : sw.toString().split( "\\r?\\n" ) )
+        {
+            if ( !l.startsWith( "#" ) )
+            {
+                line.append( l ).append( '\n' );
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Encode an entry as <code>name=value&amp;...</code>, with url-encoded names and values: time comes last,
+     * so a truncated entry is either rejected or considered old.
+     */
+    static String encode( Entry entry )
+        throws UnsupportedEncodingException
+    {
+        StringBuilder sb = new StringBuilder();
+        append( sb, VERSION, entry.version );
+        append( sb, LAST_UPDATED, entry.lastUpdated );
+        for ( Failure failure : entry.failures )
+        {
+            StringBuilder f = new StringBuilder();
+            append( f, CATEGORY, failure.category );
+            append( f, URL, failure.url );
+            append( f, IGNORED, Boolean.toString( failure.ignored ) );
+            append( f, MESSAGE, failure.message );
+            append( sb, FAILURE, f.toString() );
+        }
+        for ( Map.Entry<String, String> state : entry.state.entrySet() )
+        {
+            append( sb, STATE + state.getKey(), state.getValue() );
+        }
+        append( sb, TIME, Long.toString( entry.time ) );
+        return sb.toString();
+    }
+
+    private static void append( StringBuilder sb, String name, String value )
+        throws UnsupportedEncodingException
+    {
+        if ( value == null )
+        {
+            return;
+        }
+        if ( sb.length() > 0 )
+        {
+            sb.append( '&' );
+        }
+        sb.append( URLEncoder.encode( name, "UTF-8" ) ).append( '=' ).append( URLEncoder.encode( value, "UTF-8" ) );
+    }
+
+    /**
+     * @return the decoded entry, or <code>null</code> if it is corrupted
+     */
+    static Entry decode( String value )
+    {
+        String version = null;
+        String lastUpdated = null;
+        List<Failure> failures = new ArrayList<>();
+        Map<String, String> state = new LinkedHashMap<>();
+        long time = -1;
+        try
+        {
+            for ( String field : value.split( "&" ) )
+            {
+                int index = field.indexOf( '=' );
+                String name = URLDecoder.decode( field.substring( 0, index ), "UTF-8" );
+                String v = URLDecoder.decode( field.substring( index + 1 ), "UTF-8" );
+                if ( VERSION.equals( name ) )
+                {
+                    version = v;
+                }
+                else if ( LAST_UPDATED.equals( name ) )
+                {
+                    lastUpdated = v;
+                }
+                else if ( FAILURE.equals( name ) )
+                {
+                    failures.add( decodeFailure( v ) );
+                }
+                else if ( name.startsWith( STATE ) )
+                {
+                    state.put( name.substring( STATE.length() ), v );
+                }
+                else if ( TIME.equals( name ) )
+                {
+                    time = Long.parseLong( v );
+                }
+            }
+        }
+        catch ( IllegalArgumentException | StringIndexOutOfBoundsException | UnsupportedEncodingException e )
+        {
+            return null;
+        }
+        return ( ( version == null ) || ( time < 0 ) ) ? null : new Entry( version, lastUpdated, failures, state,
+                                                                             time );
+    }
+
+    private static Failure decodeFailure( String value )
+        throws UnsupportedEncodingException
+    {
+        Map<String, String> fields = new HashMap<>();
+        for ( String field : value.split( "&" ) )
+        {
+            int index = field.indexOf( '=' );
+            fields.put( URLDecoder.decode( field.substring( 0, index ), "UTF-8" ),
+                        URLDecoder.decode( field.substring( index + 1 ), "UTF-8" ) );
+        }
+        if ( !fields.containsKey( MESSAGE ) )
+        {
+            throw new IllegalArgumentException( "failure without message" );
+        }
+        return new Failure( fields.get( CATEGORY ), fields.get( URL ), Boolean.parseBoolean( fields.get( IGNORED ) ),
+                            fields.get( MESSAGE ) );
+    }
+}
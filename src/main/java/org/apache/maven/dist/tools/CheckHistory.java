@@ -0,0 +1,153 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Check durations and outcomes of previous runs, by artifact: used to check first the artifacts that take longest
+ * or are most likely to fail, which shortens total run time and gets the most useful results before a deadline.
+ * Stored as a properties file with one <code>groupId:artifactId[:versionRange] = duration ms,failure rate</code>
+ * entry per artifact, both averaged over recent runs.
+ */
+class CheckHistory
+{
+    /**
+     * Weight of latest run in averages.
+     */
+    private static final double WEIGHT = 0.5;
+
+    private final File file;
+
+    private final Map<String, double[]> entries = new ConcurrentHashMap<>();
+
+    CheckHistory( File file )
+    {
+        this.file = file;
+    }
+
+    static String key( ConfigurationLineInfo cli )
+    {
+        String key = cli.getGroupId() + ':' + cli.getArtifactId();
+        return ( cli.getVersionRange() == null ) ? key : ( key + ':' + cli.getVersionRange() );
+    }
+
+    void load()
+        throws IOException
+    {
+        if ( !file.isFile() )
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        try ( InputStream in = Files.newInputStream( file.toPath() ) )
+        {
+            properties.load( in );
+        }
+        for ( String key : properties.stringPropertyNames() )
+        {
+            String[] values = properties.getProperty( key ).split( "," );
+            try
+            {
+                entries.put( key, new double[] { Double.parseDouble( values[0] ), Double.parseDouble( values[1] ) } );
+            }
+            catch ( NumberFormatException | ArrayIndexOutOfBoundsException e )
+            {
+                // ignore corrupted entry
+            }
+        }
+    }
+
+    void save()
+        throws IOException
+    {
+        Properties properties = new Properties();
+        for ( Map.Entry<String, double[]> entry : entries.entrySet() )
+        {
+            properties.setProperty( entry.getKey(), String.format( Locale.ROOT, "%.0f,%.2f", entry.getValue()[0],
+                                                                   entry.getValue()[1] ) );
+        }
+
+        file.getParentFile().mkdirs();
+        File tmp = new File( file.getPath() + ".tmp" );
+        try ( OutputStream out = Files.newOutputStream( tmp.toPath() ) )
+        {
+            properties.store( out, "dist-tool check durations (ms) and failure rates" );
+        }
+        Files.move( tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    }
+
+    /**
+     * Record the outcome of a check.
+     *
+     * @param cli the artifact
+     * @param durationMillis how long the check took
+     * @param failed <code>true</code> if the check reported an error
+     */
+    void record( ConfigurationLineInfo cli, long durationMillis, boolean failed )
+    {
+        entries.merge( key( cli ), new double[] { durationMillis, failed ? 1 : 0 },
+                       ( previous, latest ) -> new double[] {
+                           WEIGHT * latest[0] + ( 1 - WEIGHT ) * previous[0],
+                           WEIGHT * latest[1] + ( 1 - WEIGHT ) * previous[1] } );
+    }
+
+    /**
+     * Priority of an artifact: expected duration, doubled if it always failed. Artifacts never checked before come
+     * first, since their duration is unknown.
+     *
+     * @param cli the artifact
+     * @return the priority, higher first
+     */
+    double getPriority( ConfigurationLineInfo cli )
+    {
+        double[] entry = entries.get( key( cli ) );
+        return ( entry == null ) ? Double.MAX_VALUE : entry[0] * ( 1 + entry[1] );
+    }
+
+    /**
+     * @param artifacts artifacts in configuration order
+     * @return artifacts in check order: highest priority first, configuration order for equal priorities
+     */
+    List<ConfigurationLineInfo> sortByPriority( List<ConfigurationLineInfo> artifacts )
+    {
+        List<ConfigurationLineInfo> sorted = new ArrayList<>( artifacts );
+        sorted.sort( Comparator.comparingDouble( this::getPriority ).reversed() );
+        return sorted;
+    }
+
+    int size()
+    {
+        return entries.size();
+    }
+}
@@ -0,0 +1,151 @@
+package org.apache.maven.dist.tools;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.maven.dist.tools.http.HttpResource;
+import org.jsoup.nodes.Document;
+
+/**
+ * An artifact flowing through the {@link CheckPipeline} stages, with data collected by each stage.
+ * When several checks share the pipeline, each check of the artifact has its own part, with its failures.
+ */
+class CheckItem
+{
+    final int position;
+
+    final ConfigurationLineInfo configLine;
+
+    final CompletableFuture<CheckItem> done = new CompletableFuture<>();
+
+    String version;
+
+    /**
+     * prefetched resources, by requested url
+     */
+    final Map<String, HttpResource> resources;
+
+    /**
+     * prefetch failures, by requested url: reported to the check when it reads the url
+     */
+    final Map<String, IOException> fetchErrors;
+
+    /**
+     * parsed prefetched resources, by requested url
+     */
+    final Map<String, Document> documents;
+
+    /**
+     * parts of the artifact checked by each check sharing the pipeline, in check order
+     */
+    final Map<AbstractDistCheckMojo, CheckItem> parts = new LinkedHashMap<>();
+
+    /**
+     * failures found by the check, ignored or not
+     */
+    final List<Failure> failures = new ArrayList<>();
+
+    Throwable failure;
+
+    /**
+     * time spent in pipeline stages, excluding waits in queues
+     */
+    long busyNanos;
+
+    /**
+     * check cancelled before evaluation, because of the deadline
+     */
+    volatile boolean notChecked;
+
+    /**
+     * result restored from a checkpoint of a previous run, not checked again
+     */
+    boolean restored;
+
+    CheckItem( int position, ConfigurationLineInfo configLine )
+    {
+        this.position = position;
+        this.configLine = configLine;
+        this.resources = new LinkedHashMap<>();
+        this.fetchErrors = new HashMap<>();
+        this.documents = new HashMap<>();
+    }
+
+    /**
+     * Part of an artifact checked by one check: prefetched content is shared with the artifact.
+     *
+     * @param artifact the artifact
+     */
+    CheckItem( CheckItem artifact )
+    {
+        this.position = artifact.position;
+        this.configLine = artifact.configLine;
+        this.resources = artifact.resources;
+        this.fetchErrors = artifact.fetchErrors;
+        this.documents = artifact.documents;
+    }
+
+    /**
+     * @return <code>true</code> if the item still has to go through check stages
+     */
+    boolean isPending()
+    {
+        return ( failure == null ) && !notChecked && !restored;
+    }
+
+    /**
+     * Free prefetched content once the check is done.
+     */
+    void releaseContent()
+    {
+        resources.clear();
+        documents.clear();
+        fetchErrors.clear();
+    }
+
+    /**
+     * @return <code>true</code> if the check, or the check of a part, found failures that are not ignored
+     */
+    boolean hasErrors()
+    {
+        for ( Failure f : failures )
+        {
+            if ( !f.ignored )
+            {
+                return true;
+            }
+        }
+        for ( CheckItem part : parts.values() )
+        {
+            if ( part.hasErrors() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,497 @@
+package org.apache.maven.dist.tools;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.maven.dist.tools.http.DeferredRetryException;
+import org.apache.maven.dist.tools.http.HttpFetcher;
+import org.apache.maven.dist.tools.http.HttpResource;
+
+/**
+ * Checks artifacts in stages: metadata fetch, page/listing fetch, parse, evaluation by the check, then result sink.
+ * Each stage has its own threads and bounded queue: I/O-bound and CPU-bound work overlap, and a stage that falls
+ * behind blocks the previous one, which keeps memory bounded.
+ * The sink writes error lines in configuration order, whatever the submission order.
+ * Once cancelled, remaining items skip stages up to the sink and are marked as not checked.
+ * In virtual threads mode, I/O-bound stages start a virtual thread per artifact instead of using a fixed pool.
+ */
+class CheckPipeline
+{
+    private final AbstractDistCheckMojo mojo;
+
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // submits deferred retries: waits when a stage queue is full, instead of delaying the scheduler
+    private final ExecutorService retrySubmitter = Executors.newSingleThreadExecutor();
+
+    private final long startNanos = System.nanoTime();
+
+    private final Stage sink;
+
+    private final Stage evaluate;
+
+    private final Stage parse;
+
+    private final Stage fetch;
+
+    private final Stage metadata;
+
+    private volatile boolean cancelled;
+
+    // sink state, only used by sink thread
+    private final Map<Integer, CheckItem> pendingSink = new HashMap<>();
+
+    private int nextSinkPosition;
+
+    private boolean sinkFailed;
+
+    /**
+     * @param mojo the check mojo
+     * @param ioThreads number of threads of each I/O-bound stage, ignored in virtual threads mode
+     * @param virtualThreads <code>true</code> to run I/O-bound stages on virtual threads, if
+     *            {@link VirtualThreads#isAvailable()}: platform threads otherwise
+     */
+    CheckPipeline( AbstractDistCheckMojo mojo, int ioThreads, boolean virtualThreads )
+    {
+        this.mojo = mojo;
+        virtualThreads = virtualThreads && VirtualThreads.isAvailable();
+        int cpuThreads = Runtime.getRuntime().availableProcessors();
+        int queueCapacity = 2 * ( virtualThreads ? cpuThreads : ioThreads );
+
+        sink = new Stage( "sink", 1, queueCapacity, this::sink, null );
+        if ( virtualThreads )
+        {
+            evaluate = new Stage( "evaluate", mojo::evaluate, sink );
+            parse = new Stage( "parse", cpuThreads, queueCapacity, this::parse, evaluate );
+            fetch = new Stage( "fetch", this::fetch, parse );
+            metadata = new Stage( "metadata", mojo::resolveVersion, fetch );
+        }
+        else
+        {
+            evaluate = new Stage( "evaluate", ioThreads, queueCapacity, mojo::evaluate, sink );
+            parse = new Stage( "parse", cpuThreads, queueCapacity, this::parse, evaluate );
+            fetch = new Stage( "fetch", ioThreads, queueCapacity, this::fetch, parse );
+            metadata = new Stage( "metadata", ioThreads, queueCapacity, mojo::resolveVersion, fetch );
+        }
+    }
+
+    /**
+     * Submit an artifact to check: blocks if the pipeline is full.
+     *
+     * @param item the artifact, which <code>done</code> future is completed once it went through the sink
+     * @return the item
+     */
+    CheckItem submit( CheckItem item )
+    {
+        metadata.submit( item );
+        return item;
+    }
+
+    /**
+     * Submit an artifact already checked in a previous run directly to the sink, to keep its error lines in
+     * configuration order.
+     *
+     * @param item the restored artifact, which <code>done</code> future is completed once it went through the sink
+     * @return the item
+     */
+    CheckItem submitRestored( CheckItem item )
+    {
+        sink.submit( item );
+        return item;
+    }
+
+    /**
+     * Cancel remaining work: items not yet evaluated skip remaining stages and are marked as not checked.
+     */
+    void cancel()
+    {
+        cancelled = true;
+    }
+
+    /**
+     * Cancel remaining work when the deadline is reached.
+     *
+     * @param deadlineNanos deadline, compared to {@link System#nanoTime()}
+     */
+    void cancelAt( long deadlineNanos )
+    {
+        retryScheduler.schedule( this::cancel, deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS );
+    }
+
+    boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Wait for evaluations in progress to complete: after cancellation, no check result changes once this returns.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitEvaluations()
+        throws InterruptedException
+    {
+        evaluate.awaitIdle();
+    }
+
+    /**
+     * Write error lines of items still waiting in the sink for a previous item that will never come, as last task of
+     * the sink thread: used after cancellation.
+     *
+     * @throws InterruptedException if interrupted while waiting for the sink to stop
+     */
+    void drainSink()
+        throws InterruptedException
+    {
+        sink.executor.execute( this::writePendingSink );
+        sink.executor.shutdown();
+        if ( !sink.executor.awaitTermination( 1, TimeUnit.MINUTES ) )
+        {
+            mojo.getLog().warn( "Sink did not stop within 1 minute: error lines of remaining items are not written" );
+        }
+    }
+
+    private void writePendingSink()
+    {
+        List<Integer> positions = new ArrayList<>( pendingSink.keySet() );
+        Collections.sort( positions );
+        for ( Integer position : positions )
+        {
+            CheckItem next = pendingSink.remove( position );
+            if ( next.failure != null )
+            {
+                sinkFailed = true;
+            }
+            if ( !sinkFailed )
+            {
+                mojo.writeFailures( next );
+            }
+        }
+    }
+
+    void shutdown()
+    {
+        retryScheduler.shutdownNow();
+        retrySubmitter.shutdownNow();
+        for ( Stage stage : new Stage[] { metadata, fetch, parse, evaluate, sink } )
+        {
+            stage.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return statistics of each stage, one line per stage
+     */
+    String getStatistics()
+    {
+        StringBuilder sb = new StringBuilder( "check pipeline stages:" );
+        for ( Stage stage : new Stage[] { metadata, fetch, parse, evaluate, sink } )
+        {
+            sb.append( System.lineSeparator() ).append( "  " ).append( stage );
+        }
+        return sb.toString();
+    }
+
+    private void fetch( CheckItem item )
+    {
+        for ( String url : mojo.getPrefetchUrls( item ) )
+        {
+            if ( item.resources.containsKey( url ) || item.fetchErrors.containsKey( url ) )
+            {
+                // already done before a deferred retry
+                continue;
+            }
+            try
+            {
+                item.resources.put( url, HttpFetcher.get( url ) );
+            }
+            catch ( IOException ioe )
+            {
+                // the check will get the failure when reading the url
+                item.fetchErrors.put( url, ioe );
+            }
+        }
+    }
+
+    private void parse( CheckItem item )
+        throws IOException
+    {
+        for ( Map.Entry<String, HttpResource> resource : item.resources.entrySet() )
+        {
+            item.documents.put( resource.getKey(), JsoupRetry.parse( resource.getKey(), resource.getValue() ) );
+        }
+    }
+
+    private void sink( CheckItem item )
+    {
+        item.releaseContent();
+        if ( !item.restored && !item.notChecked && ( item.failure == null ) )
+        {
+            mojo.checkpoint( item );
+        }
+        pendingSink.put( item.position, item );
+        flushSink();
+        item.done.complete( item );
+    }
+
+    private void flushSink()
+    {
+        CheckItem next;
+        while ( ( next = pendingSink.remove( nextSinkPosition ) ) != null )
+        {
+            nextSinkPosition++;
+            if ( next.failure != null )
+            {
+                // like a sequential run that stops at first failure
+                sinkFailed = true;
+            }
+            if ( !sinkFailed )
+            {
+                mojo.writeFailures( next );
+            }
+        }
+    }
+
+    private interface StageWork
+    {
+        void process( CheckItem item )
+            throws Exception;
+    }
+
+    private class Stage
+    {
+        private final String name;
+
+        private final int threads;
+
+        private final int queueCapacity;
+
+        private final ExecutorService executor;
+
+        private final boolean virtual;
+
+        private final StageWork work;
+
+        private final Stage next;
+
+        private final AtomicInteger processed = new AtomicInteger();
+
+        private final AtomicInteger deferred = new AtomicInteger();
+
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final Lock idleLock = new ReentrantLock();
+
+        private final Condition idle = idleLock.newCondition();
+
+        private final AtomicLong busyNanos = new AtomicLong();
+
+        Stage( String name, int threads, int queueCapacity, StageWork work, Stage next )
+        {
+            this.name = name;
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.work = work;
+            this.next = next;
+            this.virtual = false;
+            // when the queue is full, submitter waits: backpressure to previous stage
+            this.executor = new ThreadPoolExecutor( threads, threads, 0, TimeUnit.MILLISECONDS,
+                                                    new ArrayBlockingQueue<>( queueCapacity ), ( r, e ) ->
+                                                    {
+                                                        if ( e.isShutdown() )
+                                                        {
+                                                            // pipeline stopped after a failure: drop
+                                                            return;
+                                                        }
+                                                        try
+                                                        {
+                                                            e.getQueue().put( r );
+                                                        }
+                                                        catch ( InterruptedException ie )
+                                                        {
+                                                            // interrupted by shutdown: drop
+                                                            Thread.currentThread().interrupt();
+                                                        }
+                                                    } );
+        }
+
+        /**
+         * Stage starting a virtual thread per item, without queue: the bounded queue of the next platform threads
+         * stage provides backpressure.
+         */
+        Stage( String name, StageWork work, Stage next )
+        {
+            this.name = name;
+            this.threads = 0;
+            this.queueCapacity = 0;
+            this.work = work;
+            this.next = next;
+            this.virtual = true;
+            this.executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            if ( executor == null )
+            {
+                throw new IllegalStateException( "virtual threads are not available in this JDK" );
+            }
+        }
+
+        void submit( CheckItem item )
+        {
+            if ( virtual )
+            {
+                maxQueueDepth.accumulateAndGet( inFlight.incrementAndGet(), Math::max );
+                executor.execute( () -> process( item ) );
+            }
+            else
+            {
+                executor.execute( () -> process( item ) );
+                maxQueueDepth.accumulateAndGet( ( ( ThreadPoolExecutor ) executor ).getQueue().size(), Math::max );
+            }
+        }
+
+        private void process( CheckItem item )
+        {
+            if ( !virtual )
+            {
+                inFlight.incrementAndGet();
+            }
+            long start = System.nanoTime();
+            HttpFetcher.setDeferRetries( true );
+            try
+            {
+                if ( cancelled && ( next != null ) && ( item.failure == null ) && !item.restored )
+                {
+                    item.notChecked = true;
+                }
+                else if ( item.isPending() || ( next == null ) )
+                {
+                    work.process( item );
+                }
+            }
+            catch ( DeferredRetryException dre )
+            {
+                deferred.incrementAndGet();
+                mojo.getLog().info( "deferring " + name + " of " + item.configLine.getArtifactId() + ": "
+                    + dre.getMessage() );
+                retryScheduler.schedule( () -> retrySubmitter.execute( () -> submit( item ) ), dre.getDelayMillis(),
+                                         TimeUnit.MILLISECONDS );
+                leave();
+                return;
+            }
+            catch ( Throwable t )
+            {
+                item.failure = t;
+            }
+            finally
+            {
+                HttpFetcher.setDeferRetries( false );
+                long busy = System.nanoTime() - start;
+                busyNanos.addAndGet( busy );
+                item.busyNanos += busy;
+            }
+
+            processed.incrementAndGet();
+            try
+            {
+                if ( next != null )
+                {
+                    // a failed, cancelled or restored item goes straight to the sink
+                    ( item.isPending() ? next : sink ).submit( item );
+                }
+            }
+            finally
+            {
+                // still in flight until handed over: nothing is lost between stages when awaiting evaluations
+                leave();
+            }
+        }
+
+        private void leave()
+        {
+            if ( inFlight.decrementAndGet() == 0 )
+            {
+                idleLock.lock();
+                try
+                {
+                    idle.signalAll();
+                }
+                finally
+                {
+                    idleLock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Wait until no item is in flight in this stage, signalled by the last item leaving it.
+         */
+        void awaitIdle()
+            throws InterruptedException
+        {
+            idleLock.lock();
+            try
+            {
+                while ( inFlight.get() > 0 )
+                {
+                    idle.await();
+                }
+            }
+            finally
+            {
+                idleLock.unlock();
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            double elapsed = ( System.nanoTime() - startNanos ) / 1e9;
+            double busy = busyNanos.get() / 1e9;
+            if ( virtual )
+            {
+                return String.format( "%-8s virtual threads, %4d items (%d deferred), max in flight %4d, busy %6.1f s,"
+                    + " %5.1f items/s, average concurrency %5.1f", name, processed.get(), deferred.get(),
+                                      maxQueueDepth.get(), busy, processed.get() / elapsed, busy / elapsed );
+            }
+            return String.format( "%-8s %2d threads, %4d items (%d deferred), max queue %3d/%d, busy %6.1f s,"
+                + " %5.1f items/s, utilization %3.0f%%", name, threads, processed.get(), deferred.get(),
+                                  maxQueueDepth.get(), queueCapacity, busy, processed.get() / elapsed,
+                                  100 * busy / ( threads * elapsed ) );
+        }
+    }
+}
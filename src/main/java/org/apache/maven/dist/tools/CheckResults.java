@@ -0,0 +1,378 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Results of a check run, successes included, with timings: written by each check next to its failures log, and
+ * read by <code>check-errors</code> and <code>failure-report</code> to gate the build without parsing logs or
+ * running checks again.
+ * Stored as a properties file with run totals and indexed <code>artifact.N.*</code> entries in configuration order.
+ */
+class CheckResults
+{
+    static final String SUFFIX = "-results.properties";
+
+    /**
+     * Outcome of the check of an artifact.
+     */
+    enum Status
+    {
+        /** checked without failure */
+        OK,
+        /** failures found, some not ignored */
+        ERROR,
+        /** failures found, all ignored */
+        IGNORED,
+        /** the check itself failed */
+        FAILED,
+        /** not checked before deadline */
+        NOT_CHECKED;
+
+        String id()
+        {
+            return name().toLowerCase( Locale.ENGLISH ).replace( '_', '-' );
+        }
+
+        static Status of( String id )
+        {
+            return valueOf( id.toUpperCase( Locale.ENGLISH ).replace( '-', '_' ) );
+        }
+    }
+
+    /**
+     * Result of the check of an artifact.
+     */
+    static class ArtifactResult
+    {
+        final String artifact;
+
+        String version;
+
+        Status status;
+
+        long millis;
+
+        boolean restored;
+
+        final List<String> errors = new ArrayList<>();
+
+        ArtifactResult( String artifact )
+        {
+            this.artifact = artifact;
+        }
+    }
+
+    private final File file;
+
+    private final String check;
+
+    private final String report;
+
+    private long time;
+
+    private long millis;
+
+    private final Map<String, ArtifactResult> artifacts = new LinkedHashMap<>();
+
+    CheckResults( File file, String check, String report )
+    {
+        this.file = file;
+        this.check = check;
+        this.report = report;
+        this.time = System.currentTimeMillis();
+    }
+
+    /**
+     * @param directory the failures directory
+     * @return results files found in directory, sorted by name
+     */
+    static List<File> find( File directory )
+    {
+        File[] files = directory.listFiles( ( dir, name ) -> name.endsWith( SUFFIX ) );
+        if ( files == null )
+        {
+            return Collections.emptyList();
+        }
+        Arrays.sort( files );
+        return Arrays.asList( files );
+    }
+
+    /**
+     * Record the check of an artifact.
+     *
+     * @param cli the artifact
+     * @param version the checked version, <code>null</code> if not known
+     * @param status {@link Status#FAILED} or {@link Status#NOT_CHECKED}, or <code>null</code> to compute it from
+     *            failures
+     * @param checkMillis time spent checking the artifact
+     * @param restored <code>true</code> if the result was restored from a previous run
+     * @param failures the failures found by the check
+     */
+    synchronized void record( ConfigurationLineInfo cli, String version, Status status, long checkMillis,
+                              boolean restored, Collection<Failure> failures )
+    {
+        ArtifactResult result = artifacts.computeIfAbsent( CheckHistory.key( cli ), ArtifactResult::new );
+        result.version = version;
+        result.millis = checkMillis;
+        result.restored = restored;
+        result.status = ( status == null ) ? Status.OK : status;
+        result.errors.clear();
+        addFailures( result, failures );
+    }
+
+    /**
+     * Add failures found after the check of an artifact, while rendering the report.
+     *
+     * @param cli the artifact
+     * @param version the checked version, <code>null</code> if not known
+     * @param failures the failures
+     */
+    synchronized void addFailures( ConfigurationLineInfo cli, String version, Collection<Failure> failures )
+    {
+        ArtifactResult result = artifacts.computeIfAbsent( CheckHistory.key( cli ), ArtifactResult::new );
+        if ( result.status == null )
+        {
+            result.version = version;
+            result.status = Status.OK;
+        }
+        addFailures( result, failures );
+    }
+
+    private static void addFailures( ArtifactResult result, Collection<Failure> failures )
+    {
+        for ( Failure failure : failures )
+        {
+            if ( !failure.ignored )
+            {
+                result.errors.add( failure.message );
+                if ( result.status != Status.FAILED )
+                {
+                    result.status = Status.ERROR;
+                }
+            }
+            else if ( result.status == Status.OK )
+            {
+                result.status = Status.IGNORED;
+            }
+        }
+    }
+
+    synchronized void setMillis( long millis )
+    {
+        this.millis = millis;
+    }
+
+    String getCheck()
+    {
+        return check;
+    }
+
+    String getReport()
+    {
+        return report;
+    }
+
+    long getTime()
+    {
+        return time;
+    }
+
+    long getMillis()
+    {
+        return millis;
+    }
+
+    synchronized List<ArtifactResult> getArtifacts()
+    {
+        return new ArrayList<>( artifacts.values() );
+    }
+
+    /**
+     * @return number of artifacts by status, every status included
+     */
+    synchronized Map<Status, Integer> getCounts()
+    {
+        Map<Status, Integer> counts = new EnumMap<>( Status.class );
+        for ( Status status : Status.values() )
+        {
+            counts.put( status, 0 );
+        }
+        for ( ArtifactResult result : artifacts.values() )
+        {
+            counts.merge( result.status, 1, Integer::sum );
+        }
+        return counts;
+    }
+
+    /**
+     * @return error messages of artifacts with errors, in configuration order
+     */
+    synchronized List<String> getErrors()
+    {
+        List<String> errors = new ArrayList<>();
+        for ( ArtifactResult result : artifacts.values() )
+        {
+            errors.addAll( result.errors );
+        }
+        return errors;
+    }
+
+    /**
+     * @return artifacts whose check itself failed, with the version when known, in configuration order
+     */
+    synchronized List<String> getFailed()
+    {
+        List<String> failed = new ArrayList<>();
+        for ( ArtifactResult result : artifacts.values() )
+        {
+            if ( result.status == Status.FAILED )
+            {
+                failed.add( ( result.version == null ) ? result.artifact : ( result.artifact + ':' + result.version ) );
+            }
+        }
+        return failed;
+    }
+
+    synchronized void save()
+        throws IOException
+    {
+        Properties properties = new Properties();
+        properties.setProperty( "check", check );
+        properties.setProperty( "report", report );
+        properties.setProperty( "time", Long.toString( time ) );
+        properties.setProperty( "millis", Long.toString( millis ) );
+        for ( Map.Entry<Status, Integer> count : getCounts().entrySet() )
+        {
+            properties.setProperty( "count." + count.getKey().id(), count.getValue().toString() );
+        }
+        properties.setProperty( "artifacts", Integer.toString( artifacts.size() ) );
+        int index = 0;
+        for ( ArtifactResult result : artifacts.values() )
+        {
+            String prefix = "artifact." + index++ + '.';
+            properties.setProperty( prefix + "name", result.artifact );
+            if ( result.version != null )
+            {
+                properties.setProperty( prefix + "version", result.version );
+            }
+            properties.setProperty( prefix + "status", result.status.id() );
+            properties.setProperty( prefix + "millis", Long.toString( result.millis ) );
+            if ( result.restored )
+            {
+                properties.setProperty( prefix + "restored", "true" );
+            }
+            for ( int i = 0; i < result.errors.size(); i++ )
+            {
+                properties.setProperty( prefix + "error." + i, result.errors.get( i ) );
+            }
+        }
+
+        file.getParentFile().mkdirs();
+        File tmp = new File( file.getPath() + ".tmp" );
+        try ( OutputStream out = Files.newOutputStream( tmp.toPath() ) )
+        {
+            properties.store( out, "dist-tool check results" );
+        }
+        Files.move( tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    }
+
+    /**
+     * @param file a results file
+     * @return the results
+     * @throws IOException if the file cannot be read or is not a results file
+     */
+    static CheckResults load( File file )
+        throws IOException
+    {
+        Properties properties = new Properties();
+        try ( InputStream in = Files.newInputStream( file.toPath() ) )
+        {
+            properties.load( in );
+        }
+        CheckResults results =
+            new CheckResults( file, required( properties, "check" ), required( properties, "report" ) );
+        try
+        {
+            results.time = Long.parseLong( required( properties, "time" ) );
+            results.millis = Long.parseLong( required( properties, "millis" ) );
+            int count = Integer.parseInt( required( properties, "artifacts" ) );
+            for ( int index = 0; index < count; index++ )
+            {
+                String prefix = "artifact." + index + '.';
+                ArtifactResult result = new ArtifactResult( required( properties, prefix + "name" ) );
+                result.version = properties.getProperty( prefix + "version" );
+                result.status = Status.of( required( properties, prefix + "status" ) );
+                result.millis = Long.parseLong( required( properties, prefix + "millis" ) );
+                result.restored = Boolean.parseBoolean( properties.getProperty( prefix + "restored" ) );
+                for ( int i = 0; properties.getProperty( prefix + "error." + i ) != null; i++ )
+                {
+                    result.errors.add( properties.getProperty( prefix + "error." + i ) );
+                }
+                results.artifacts.put( result.artifact, result );
+            }
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new IOException( "invalid results file " + file + ": " + e.getMessage(), e );
+        }
+        return results;
+    }
+
+    private static String required( Properties properties, String key )
+        throws IOException
+    {
+        String value = properties.getProperty( key );
+        if ( value == null )
+        {
+            throw new IOException( "invalid results file: missing " + key );
+        }
+        return value;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder( check );
+        sb.append( ": " ).append( artifacts.size() ).append( " artifacts" );
+        for ( Map.Entry<Status, Integer> count : getCounts().entrySet() )
+        {
+            sb.append( ", " ).append( count.getValue() ).append( ' ' ).append( count.getKey().id() );
+        }
+        return sb.append( " in " ).append( millis ).append( " ms" ).toString();
+    }
+}
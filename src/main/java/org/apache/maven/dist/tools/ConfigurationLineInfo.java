@@ -19,11 +19,11 @@ package org.apache.maven.dist.tools;
  * under the License.
  */
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
-import org.apache.maven.artifact.repository.metadata.Metadata;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.dist.tools.index.DistCheckIndexPageMojo;
@@ -33,32 +33,67 @@ import org.apache.maven.dist.tools.index.DistCheckIndexPageMojo;
  * @author skygo
  */
 public class ConfigurationLineInfo
+    implements Comparable<ConfigurationLineInfo>
 {
     private static final String URLSEP = "/";
 
+    private static final String UNPARSEABLE_DATE = "Cannot parse";
+
+    private static final DateTimeFormatter LAST_UPDATED = DateTimeFormatter.ofPattern( "yyyyMMddHHmmss" );
+
     private final String directory;
     private final String groupId;
+    private final String shortGroupId;
     private final boolean srcBin;
     private final String groupIndexPageUrl;
 
     private final String artifactId;
     private final VersionRange versionRange;
+
+    /**
+     * path of artifact in repository, computed once instead of for every url
+     */
+    private final String repositoryPath;
     
     private String forceVersion;
     private String indexPageUrl;
-    private Metadata metadata;
+    private MetadataSummary metadata;
+
+    /**
+     * release date parsed from metadata lastUpdated, <code>null</code> if not available
+     */
+    private LocalDate releaseDate;
+
+    /**
+     * release date formatted once for reports
+     */
+    private String releaseDateText = UNPARSEABLE_DATE;
+
+    /**
+     * position of the line in configuration, used to keep reports in configuration order
+     * even when artifacts are checked concurrently
+     */
+    private int position;
+
+    /**
+     * special artifact, marked with an asterisk in configuration: released as part of a global component, only its
+     * index page information is checked
+     */
+    private boolean indexPageOnly;
 
     public ConfigurationLineInfo( String[] infos )
     {
         this.directory = infos[0].replace( '/', ' ' ).replace( ':', ' ' ).trim();
         String g = infos[1];
         int index = g.indexOf( ':' );
-        this.groupId = ( index < 0 ) ? g : g.substring( 0, index );
+        this.groupId = ( ( index < 0 ) ? g : g.substring( 0, index ) ).intern();
+        this.shortGroupId = shortGroupId( groupId );
         this.srcBin = ( infos.length > 2 ) && "src+bin".equals( infos[2] );
         this.groupIndexPageUrl = ( !srcBin && ( infos.length > 2 ) ) ? infos[2] : null;
 
-        this.artifactId = ( index < 0 ) ? null : g.substring( index + 1 );
+        this.artifactId = ( index < 0 ) ? null : g.substring( index + 1 ).intern();
         this.versionRange = null;
+        this.repositoryPath = repositoryPath( groupId, artifactId );
         this.indexPageUrl = DistCheckIndexPageMojo.POMS_INDEX_URL; // in case of group parent pom artifact
     }
 
@@ -67,14 +102,26 @@ public class ConfigurationLineInfo
     {
         this.directory = group.getDirectory();
         this.groupId = group.getGroupId();
+        this.shortGroupId = group.shortGroupId;
         this.srcBin = group.isSrcBin();
         this.groupIndexPageUrl = group.groupIndexPageUrl;
 
-        this.artifactId = infos[0];
+        this.artifactId = infos[0].intern();
         this.versionRange = ( infos.length > 1 ) ? VersionRange.createFromVersionSpec( infos[1] ) : null;
+        this.repositoryPath = repositoryPath( groupId, artifactId );
         this.indexPageUrl = group.groupIndexPageUrl;
     }
 
+    private static String repositoryPath( String groupId, String artifactId )
+    {
+        return groupId.replace( '.', '/' ) + URLSEP + artifactId + URLSEP;
+    }
+
+    private static String shortGroupId( String groupId )
+    {
+        return groupId.replace( "org.apache.maven", "o.a.m" );
+    }
+
     public String getIndexPageUrl()
     {
         return indexPageUrl;
@@ -103,6 +150,14 @@ public class ConfigurationLineInfo
         return groupId;
     }
 
+    /**
+     * @return the groupId shortened for display
+     */
+    public String getShortGroupId()
+    {
+        return shortGroupId;
+    }
+
     /**
      * @return the artifactId
      */
@@ -126,7 +181,7 @@ public class ConfigurationLineInfo
 
     public String getBaseURL( String repoBaseUrl, String folder )
     {
-        return repoBaseUrl + groupId.replaceAll( "\\.", URLSEP ) + URLSEP + artifactId + URLSEP + folder;
+        return repoBaseUrl + repositoryPath + folder;
     }
 
     public String getMetadataFileURL( String repoBaseUrl )
@@ -139,31 +194,90 @@ public class ConfigurationLineInfo
         return getBaseURL( repoBaseUrl, version ) + '/';
     }
 
-    String getVersionnedPomFileURL( String repoBaseUrl, String version )
+    public String getVersionnedPomFileURL( String repoBaseUrl, String version )
     {
         return getBaseURL( repoBaseUrl, version + URLSEP + artifactId + "-" + version + ".pom" );
     }
 
-    void setMetadata( Metadata aMetadata )
+    int getPosition()
+    {
+        return position;
+    }
+
+    void setPosition( int position )
+    {
+        this.position = position;
+    }
+
+    boolean isIndexPageOnly()
+    {
+        return indexPageOnly;
+    }
+
+    void setIndexPageOnly( boolean indexPageOnly )
+    {
+        this.indexPageOnly = indexPageOnly;
+    }
+
+    @Override
+    public int compareTo( ConfigurationLineInfo o )
+    {
+        return Integer.compare( position, o.position );
+    }
+
+    void setMetadata( MetadataSummary aMetadata )
     {
         this.metadata = aMetadata;
+        setReleaseDate( aMetadata.getLastUpdated() );
     }
 
-    public String getReleaseDateFromMetadata()
+    /**
+     * @return lastUpdated value from metadata, or <code>null</code> if not available
+     */
+    String getLastUpdated()
+    {
+        return ( metadata == null ) ? null : metadata.getLastUpdated();
+    }
+
+    /**
+     * Restore metadata information used in reports, when metadata was not read in this run.
+     *
+     * @param lastUpdated lastUpdated value from metadata
+     */
+    void setLastUpdated( String lastUpdated )
+    {
+        this.metadata = new MetadataSummary( null, lastUpdated, null );
+        setReleaseDate( lastUpdated );
+    }
+
+    private void setReleaseDate( String lastUpdated )
     {
         try
         {
-            SimpleDateFormat dateFormatter = new SimpleDateFormat( "yyyyMMddkkmmss" );
-            Date f = dateFormatter.parse( metadata.getVersioning().getLastUpdated() );
-            // inverted for index page check
-            SimpleDateFormat dateFormattertarget = new SimpleDateFormat( "yyyy-MM-dd" );
-            return dateFormattertarget.format( f );
+            releaseDate =
+                ( lastUpdated == null ) ? null : LocalDateTime.parse( lastUpdated, LAST_UPDATED ).toLocalDate();
         }
-        catch ( ParseException ex )
+        catch ( DateTimeParseException ex )
         {
-            return "Cannot parse";
+            releaseDate = null;
         }
+        releaseDateText = ( releaseDate == null ) ? UNPARSEABLE_DATE : releaseDate.toString();
+    }
+
+    /**
+     * @return release date from metadata, or <code>null</code> if not available
+     */
+    public LocalDate getReleaseDate()
+    {
+        return releaseDate;
+    }
 
+    /**
+     * @return release date from metadata, formatted as yyyy-MM-dd
+     */
+    public String getReleaseDateFromMetadata()
+    {
+        return releaseDateText;
     }
 
     public String getSourceReleaseFilename( String version, boolean dist )
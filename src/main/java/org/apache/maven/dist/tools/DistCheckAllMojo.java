@@ -0,0 +1,487 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.dist.tools.http.DeferredRetryException;
+import org.apache.maven.dist.tools.index.DistCheckIndexPageMojo;
+import org.apache.maven.dist.tools.site.DistCheckSiteMojo;
+import org.apache.maven.dist.tools.source.DistCheckSourceReleaseMojo;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkFactory;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.apache.maven.reporting.MavenReportException;
+
+/**
+ * Run every check in one pass: one check pipeline reads each artifact metadata once, prefetches pages of every check,
+ * then passes the artifact to the source release, site and index page checks. Each check writes its usual report
+ * page and failures log, with the same content as when run by its own goal.
+ */
+@Mojo( name = "check-all", requiresProject = false )
+public class DistCheckAllMojo
+    extends AbstractDistCheckMojo
+{
+    /**
+     * Ignore dist failure for <code>artifactId</code> or <code>artifactId:version</code>
+     */
+    @Parameter
+    protected List<String> ignoreDistFailures;
+
+    /**
+     * Ignore site failure for <code>artifactId</code> or <code>artifactId:version</code>
+     */
+    @Parameter
+    protected List<String> ignoreSiteFailures;
+
+    /**
+     * Take screenshot of sites with web browser
+     */
+    @Parameter( property = "screenshot", defaultValue = "false" )
+    protected boolean screenShot;
+
+    /**
+     * Artifact factory.
+     */
+    @Component
+    protected ArtifactFactory artifactFactory;
+
+    /**
+     * Local repository.
+     */
+    @Parameter( defaultValue = "${localRepository}", required = true, readonly = true )
+    protected ArtifactRepository localRepository;
+
+    /**
+     * Maven project builder.
+     */
+    @Component
+    protected MavenProjectBuilder mavenProjectBuilder;
+
+    private List<AbstractDistCheckMojo> checks;
+
+    @Override
+    public String getName( Locale locale )
+    {
+        return "Dist Tool> Check All";
+    }
+
+    @Override
+    public String getDescription( Locale locale )
+    {
+        return "Dist Tool report running every check in one pass";
+    }
+
+    /**
+     * Special artifacts are read too: they are passed to the index page check only.
+     */
+    @Override
+    protected boolean isIndexPageCheck()
+    {
+        return true;
+    }
+
+    @Override
+    protected String getFailuresFilename()
+    {
+        return "check-all.log";
+    }
+
+    /**
+     * Check an artifact with every check that applies to it, each one recording its failures in its own part.
+     */
+    @Override
+    protected void checkArtifact( ConfigurationLineInfo request, String repoBase )
+        throws MojoExecutionException
+    {
+        CheckItem item = getCurrentCheck();
+        for ( Map.Entry<AbstractDistCheckMojo, CheckItem> e : item.parts.entrySet() )
+        {
+            CheckItem part = e.getValue();
+            if ( part.done.isDone() )
+            {
+                // restored, or checked before a deferred retry
+                continue;
+            }
+            part.version = item.version;
+            long start = System.nanoTime();
+            try
+            {
+                e.getKey().evaluate( part );
+            }
+            catch ( DeferredRetryException dre )
+            {
+                // whole artifact will be evaluated again later
+                throw dre;
+            }
+            catch ( Exception ex )
+            {
+                part.failure = ex;
+            }
+            finally
+            {
+                part.busyNanos += System.nanoTime() - start;
+            }
+            part.done.complete( part );
+        }
+    }
+
+    List<AbstractDistCheckMojo> getChecks()
+    {
+        if ( checks == null )
+        {
+            DistCheckSourceReleaseMojo source = new DistCheckSourceReleaseMojo();
+            source.setIgnoreDistFailures( ignoreDistFailures );
+
+            DistCheckSiteMojo site = new DistCheckSiteMojo();
+            site.setIgnoreSiteFailures( ignoreSiteFailures );
+            site.setScreenShot( screenShot );
+            site.setProjectComponents( artifactFactory, localRepository, mavenProjectBuilder );
+
+            DistCheckIndexPageMojo index = new DistCheckIndexPageMojo();
+            index.setIgnoreDistFailures( ignoreDistFailures );
+
+            checks = Arrays.<AbstractDistCheckMojo>asList( source, site, index );
+            for ( AbstractDistCheckMojo check : checks )
+            {
+                check.configureLike( this );
+            }
+        }
+        return checks;
+    }
+
+    private static boolean applies( AbstractDistCheckMojo check, ConfigurationLineInfo artifact )
+    {
+        return !artifact.isIndexPageOnly() || check.isIndexPageCheck();
+    }
+
+    @Override
+    protected void check()
+        throws MojoExecutionException
+    {
+        MojoExecutionException failure = null;
+        try
+        {
+            super.check();
+        }
+        catch ( MojoExecutionException e )
+        {
+            failure = e;
+            throw e;
+        }
+        finally
+        {
+            // checks that did not record their own result failed with the run
+            for ( AbstractDistCheckMojo check : getChecks() )
+            {
+                check.setChecked( failure );
+            }
+        }
+    }
+
+    @Override
+    protected void prepareRun()
+    {
+        // failures and results are written by each check
+        for ( AbstractDistCheckMojo check : getChecks() )
+        {
+            check.configureRunLike( this );
+            check.prepareRun();
+        }
+    }
+
+    @Override
+    protected void closeRun()
+    {
+        for ( AbstractDistCheckMojo check : getChecks() )
+        {
+            check.closeRun();
+        }
+    }
+
+    @Override
+    CheckItem newItem( ConfigurationLineInfo artifact )
+    {
+        CheckItem item = super.newItem( artifact );
+        for ( AbstractDistCheckMojo check : getChecks() )
+        {
+            if ( applies( check, artifact ) )
+            {
+                item.parts.put( check, new CheckItem( item ) );
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Restore the part of each check recorded in its checkpoint: the artifact is checked again only by the checks
+     * that were not restored.
+     */
+    @Override
+    boolean restoreItem( CheckItem item )
+    {
+        boolean restored = true;
+        for ( Map.Entry<AbstractDistCheckMojo, CheckItem> e : item.parts.entrySet() )
+        {
+            CheckItem part = e.getValue();
+            if ( e.getKey().restoreItem( part ) )
+            {
+                item.version = part.version;
+                part.done.complete( part );
+            }
+            else
+            {
+                restored = false;
+            }
+        }
+        item.restored = restored;
+        return restored;
+    }
+
+    @Override
+    void resolveVersion( CheckItem item )
+        throws MojoExecutionException
+    {
+        item.version = getVersion( item.configLine );
+        boolean restored = true;
+        for ( Map.Entry<AbstractDistCheckMojo, CheckItem> e : item.parts.entrySet() )
+        {
+            CheckItem part = e.getValue();
+            if ( !part.done.isDone() )
+            {
+                part.version = item.version;
+                if ( incremental )
+                {
+                    e.getKey().restoreUnchanged( part );
+                }
+                if ( part.restored )
+                {
+                    part.done.complete( part );
+                }
+            }
+            restored &= part.done.isDone();
+        }
+        item.restored = restored;
+    }
+
+    @Override
+    List<String> getPrefetchUrls( CheckItem item )
+    {
+        Set<String> urls = new LinkedHashSet<>();
+        for ( Map.Entry<AbstractDistCheckMojo, CheckItem> e : item.parts.entrySet() )
+        {
+            if ( !e.getValue().done.isDone() )
+            {
+                urls.addAll( e.getKey().getPrefetchUrls( item.configLine, item.version ) );
+            }
+        }
+        return new ArrayList<>( urls );
+    }
+
+    @Override
+    void checkpoint( CheckItem item )
+    {
+        for ( Map.Entry<AbstractDistCheckMojo, CheckItem> e : item.parts.entrySet() )
+        {
+            CheckItem part = e.getValue();
+            if ( !part.restored && ( part.failure == null ) )
+            {
+                e.getKey().checkpoint( part );
+            }
+        }
+    }
+
+    @Override
+    void writeFailures( CheckItem item )
+    {
+        for ( Map.Entry<AbstractDistCheckMojo, CheckItem> e : item.parts.entrySet() )
+        {
+            e.getKey().writeFailures( e.getValue() );
+        }
+    }
+
+    /**
+     * Record results of each check, like if it had run alone.
+     */
+    @Override
+    Throwable finishRun( List<ConfigurationLineInfo> artifacts, Map<ConfigurationLineInfo, CheckItem> items )
+    {
+        Throwable failure = null;
+        for ( AbstractDistCheckMojo check : getChecks() )
+        {
+            List<ConfigurationLineInfo> checkArtifacts = new ArrayList<>();
+            Map<ConfigurationLineInfo, CheckItem> parts = new HashMap<>();
+            for ( ConfigurationLineInfo artifact : artifacts )
+            {
+                if ( !applies( check, artifact ) )
+                {
+                    continue;
+                }
+                checkArtifacts.add( artifact );
+                CheckItem item = items.get( artifact );
+                if ( item == null )
+                {
+                    // not submitted before the deadline
+                    continue;
+                }
+                CheckItem part = item.parts.get( check );
+                if ( ( item.failure != null ) && !part.done.isDone() )
+                {
+                    // metadata could not be read
+                    part.failure = item.failure;
+                    part.done.complete( part );
+                }
+                parts.put( artifact, part );
+            }
+
+            Throwable checkFailure = check.finishRun( checkArtifacts, parts );
+            check.setChecked( toMojoExecutionException( checkFailure ) );
+            if ( failure == null )
+            {
+                failure = checkFailure;
+            }
+        }
+        return failure;
+    }
+
+    @Override
+    protected void executeReport( Locale locale )
+        throws MavenReportException
+    {
+        if ( !outputDirectory.exists() )
+        {
+            outputDirectory.mkdirs();
+        }
+        try
+        {
+            this.execute();
+        }
+        catch ( MojoExecutionException ex )
+        {
+            // artifacts the checks failed on are in their results, gated by check-errors; pages of other checks
+            // are rendered anyway
+            getLog().error( ex.getMessage(), ex );
+        }
+
+        Sink sink = getSink();
+        sink.head();
+        sink.title();
+        sink.text( "Check all" );
+        sink.title_();
+        sink.head_();
+
+        sink.body();
+        sink.section1();
+        sink.paragraph();
+        sink.rawText( "Every check run in one pass, each artifact metadata being read once." );
+        sink.paragraph_();
+
+        sink.table();
+        sink.tableRow();
+        sink.tableHeaderCell();
+        sink.rawText( "Check" );
+        sink.tableHeaderCell_();
+        sink.tableHeaderCell();
+        sink.rawText( "Failures" );
+        sink.tableHeaderCell_();
+        sink.tableRow_();
+        for ( AbstractDistCheckMojo check : getChecks() )
+        {
+            sink.tableRow();
+            sink.tableCell();
+            sink.link( check.getOutputName() + ".html" );
+            sink.text( check.getName( locale ) );
+            sink.link_();
+            sink.tableCell_();
+            sink.tableCell();
+            if ( check.getFailuresFile().exists() )
+            {
+                iconError( sink );
+                sink.link( "dist-tool-check-errors.html" );
+                sink.text( check.getFailuresFilename() );
+                sink.link_();
+            }
+            else
+            {
+                iconSuccess( sink );
+            }
+            sink.tableCell_();
+            sink.tableRow_();
+        }
+        sink.table_();
+        sink.section1_();
+        sink.body_();
+
+        renderChecks( locale );
+    }
+
+    /**
+     * Render the page of each check, as its own goal would.
+     */
+    private void renderChecks( Locale locale )
+        throws MavenReportException
+    {
+        SinkFactory sinkFactory = getSinkFactory();
+        if ( sinkFactory == null )
+        {
+            getLog().warn( "No sink factory to render pages of checks: only summary page is rendered" );
+            return;
+        }
+
+        MavenReportException failure = null;
+        for ( AbstractDistCheckMojo check : getChecks() )
+        {
+            try
+            {
+                Sink page = sinkFactory.createSink( getReportOutputDirectory(), check.getOutputName() + ".html" );
+                check.generate( page, sinkFactory, locale );
+            }
+            catch ( IOException e )
+            {
+                failure = ( failure == null )
+                                ? new MavenReportException( "Cannot create page of " + check.getOutputName(), e )
+                                : failure;
+            }
+            catch ( MavenReportException e )
+            {
+                failure = ( failure == null ) ? e : failure;
+            }
+        }
+        if ( failure != null )
+        {
+            throw failure;
+        }
+    }
+}
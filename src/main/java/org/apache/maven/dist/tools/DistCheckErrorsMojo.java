@@ -21,11 +21,16 @@ package org.apache.maven.dist.tools;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.dist.tools.index.DistCheckIndexPageMojo;
 import org.apache.maven.dist.tools.site.DistCheckSiteMojo;
 import org.apache.maven.dist.tools.source.DistCheckSourceReleaseMojo;
+import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -95,16 +100,134 @@ public class DistCheckErrorsMojo
         }
     }
 
+    /**
+     * Gate on the results files written by checks, with per-check counts.
+     *
+     * @return <code>true</code> if a check found errors or failed on some artifacts
+     */
+    private boolean checkResults( List<File> resultsFiles )
+        throws MavenReportException
+    {
+        List<CheckResults> checks = new ArrayList<>();
+        for ( File resultsFile : resultsFiles )
+        {
+            try
+            {
+                checks.add( CheckResults.load( resultsFile ) );
+            }
+            catch ( IOException ioe )
+            {
+                throw new MavenReportException( "Cannot read " + resultsFile, ioe );
+            }
+        }
+
+        if ( !isDummyFailure() )
+        {
+            renderCounts( checks );
+        }
+
+        boolean failure = false;
+        for ( CheckResults check : checks )
+        {
+            Map<CheckResults.Status, Integer> counts = check.getCounts();
+            getLog().info( check.toString() );
+            List<String> errors = check.getErrors();
+            List<String> failed = check.getFailed();
+            if ( errors.isEmpty() && failed.isEmpty() )
+            {
+                continue;
+            }
+            failure = true;
+
+            List<String> lines = new ArrayList<>( errors );
+            for ( String artifact : failed )
+            {
+                lines.add( "check failed: " + artifact );
+            }
+            String content = String.join( EOL, lines ) + EOL;
+            if ( isDummyFailure() )
+            {
+                getLog().error( check.getCheck() + " found " + counts.get( CheckResults.Status.ERROR )
+                    + " artifact(s) with errors and failed on " + failed.size() + " artifact(s):" + EOL + content );
+            }
+            else
+            {
+                getSink().section2();
+                getSink().sectionTitle2();
+                getSink().link( check.getReport() + ".html" );
+                getSink().text( check.getCheck() );
+                getSink().link_();
+                getSink().sectionTitle2_();
+                getSink().verbatim( SinkEventAttributeSet.BOXED );
+                getSink().rawText( content );
+                getSink().verbatim_();
+                getSink().section2_();
+            }
+        }
+        return failure;
+    }
+
+    private void renderCounts( List<CheckResults> checks )
+    {
+        Sink sink = getSink();
+        sink.table();
+        sink.tableRow();
+        for ( String header : new String[] { "Check", "Artifacts", "OK", "Errors", "Ignored", "Failed", "Not checked",
+            "Time" } )
+        {
+            sink.tableHeaderCell();
+            sink.text( header );
+            sink.tableHeaderCell_();
+        }
+        sink.tableRow_();
+        for ( CheckResults check : checks )
+        {
+            Map<CheckResults.Status, Integer> counts = check.getCounts();
+            sink.tableRow();
+            sink.tableCell();
+            sink.link( check.getReport() + ".html" );
+            sink.text( check.getCheck() );
+            sink.link_();
+            sink.tableCell_();
+            tableCell( sink, Integer.toString( check.getArtifacts().size() ) );
+            for ( CheckResults.Status status : CheckResults.Status.values() )
+            {
+                tableCell( sink, counts.get( status ).toString() );
+            }
+            tableCell( sink, ( check.getMillis() / 1000 ) + " s" );
+            sink.tableRow_();
+        }
+        sink.table_();
+    }
+
+    private static void tableCell( Sink sink, String text )
+    {
+        sink.tableCell();
+        sink.text( text );
+        sink.tableCell_();
+    }
+
     @Override
     protected void executeReport( Locale locale )
         throws MavenReportException
     {
+        long start = System.nanoTime();
         boolean failure = false;
-        // if failures log file is present, throw exception to fail build
-        for ( String failuresFilename : FAILURES_FILENAMES )
+        List<File> resultsFiles = CheckResults.find( failuresDirectory );
+        if ( !resultsFiles.isEmpty() )
         {
-            failure |= checkError( failuresFilename );
+            failure = checkResults( resultsFiles );
+        }
+        else
+        {
+            // no results file: failures logs written by checks of an older version
+            for ( String failuresFilename : FAILURES_FILENAMES )
+            {
+                failure |= checkError( failuresFilename );
+            }
         }
+        getLog().info( "Check results read in " + TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start )
+            + " ms" );
 
         if ( failure )
         {
@@ -0,0 +1,168 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.reporting.MavenReportException;
+
+/**
+ * Compile the fetch plan of every check without running them: urls read by checks, deduplicated and grouped by host,
+ * with estimated request counts. Nothing is downloaded: versions to check are read from metadata in HTTP cache when
+ * available.
+ */
+@Mojo( name = "dry-run", requiresProject = false )
+public class DistDryRunMojo
+    extends DistCheckAllMojo
+{
+    private FetchPlan plan;
+
+    @Override
+    public String getName( Locale locale )
+    {
+        return "Dist Tool> Dry Run";
+    }
+
+    @Override
+    public String getDescription( Locale locale )
+    {
+        return "Dist Tool report estimating requests of every check, without running them";
+    }
+
+    @Override
+    protected String getFailuresFilename()
+    {
+        return "dry-run.log";
+    }
+
+    @Override
+    protected void check()
+        throws MojoExecutionException
+    {
+        plan = new FetchPlan();
+        for ( AbstractDistCheckMojo check : getChecks() )
+        {
+            check.planFetches( plan );
+        }
+
+        getLog().info( "Fetch plan: " + plan.getRequestCount() + " requests by checks, " + plan.getUrlCount()
+            + " distinct urls" );
+        for ( Map.Entry<String, Integer> check : plan.getRequestsByCheck().entrySet() )
+        {
+            getLog().info( "  " + check.getKey() + ": " + check.getValue() + " requests" );
+        }
+        Map<String, Map<String, Integer>> directories = plan.getRequestsByDirectory();
+        for ( Map.Entry<String, Integer> host : plan.getRequestsByHost().entrySet() )
+        {
+            getLog().info( "  " + host.getKey() + ": " + host.getValue() + " requests in "
+                + directories.get( host.getKey() ).size() + " directories" );
+            if ( getLog().isDebugEnabled() )
+            {
+                for ( Map.Entry<String, Integer> directory : directories.get( host.getKey() ).entrySet() )
+                {
+                    getLog().debug( "    " + directory.getKey() + ": " + directory.getValue() );
+                }
+            }
+        }
+        for ( Map.Entry<String, Integer> unresolved : plan.getUnresolved().entrySet() )
+        {
+            getLog().info( "  unresolved before run, " + unresolved.getKey() + ": " + unresolved.getValue() );
+        }
+        if ( plan.getEstimatedVersions() > 0 )
+        {
+            getLog().info( "  estimated urls for " + plan.getEstimatedVersions()
+                + " artifact(s) which metadata is not in HTTP cache" );
+        }
+    }
+
+    @Override
+    protected void executeReport( Locale locale )
+        throws MavenReportException
+    {
+        try
+        {
+            this.execute();
+        }
+        catch ( MojoExecutionException ex )
+        {
+            throw new MavenReportException( ex.getMessage(), ex );
+        }
+
+        Sink sink = getSink();
+        sink.head();
+        sink.title();
+        sink.text( "Dry run" );
+        sink.title_();
+        sink.head_();
+
+        sink.body();
+        sink.section1();
+        sink.paragraph();
+        sink.rawText( "Requests of every check, compiled from configuration without running checks: "
+            + plan.getRequestCount() + " requests by checks, " + plan.getUrlCount() + " distinct urls." );
+        if ( plan.getEstimatedVersions() > 0 )
+        {
+            sink.rawText( " Urls of " + plan.getEstimatedVersions()
+                + " artifact(s) are estimated, their metadata not being in HTTP cache." );
+        }
+        sink.paragraph_();
+
+        table( sink, "Check", plan.getRequestsByCheck() );
+        table( sink, "Host", plan.getRequestsByHost() );
+        if ( !plan.getUnresolved().isEmpty() )
+        {
+            table( sink, "Unresolved before run", plan.getUnresolved() );
+        }
+
+        sink.section1_();
+        sink.body_();
+        sink.close();
+    }
+
+    private void table( Sink sink, String header, Map<String, Integer> requests )
+    {
+        sink.table();
+        sink.tableRow();
+        sink.tableHeaderCell();
+        sink.rawText( header );
+        sink.tableHeaderCell_();
+        sink.tableHeaderCell();
+        sink.rawText( "Requests" );
+        sink.tableHeaderCell_();
+        sink.tableRow_();
+        for ( Map.Entry<String, Integer> entry : requests.entrySet() )
+        {
+            sink.tableRow();
+            sink.tableCell();
+            sink.rawText( entry.getKey() );
+            sink.tableCell_();
+            sink.tableCell();
+            sink.rawText( String.valueOf( entry.getValue() ) );
+            sink.tableCell_();
+            sink.tableRow_();
+        }
+        sink.table_();
+    }
+}
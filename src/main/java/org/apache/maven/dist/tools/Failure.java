@@ -0,0 +1,70 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Objects;
+
+/**
+ * A failure found by a check on an artifact: written to the failures log unless ignored, and to the failures journal
+ * in any case.
+ */
+final class Failure
+{
+    final String category;
+
+    final String url;
+
+    final boolean ignored;
+
+    final String message;
+
+    Failure( String category, String url, boolean ignored, String message )
+    {
+        this.category = category;
+        this.url = url;
+        this.ignored = ignored;
+        this.message = message;
+    }
+
+    @Override
+    public boolean equals( Object obj )
+    {
+        if ( !( obj instanceof Failure ) )
+        {
+            return false;
+        }
+        Failure other = ( Failure ) obj;
+        return Objects.equals( category, other.category ) && Objects.equals( url, other.url )
+            && ( ignored == other.ignored ) && Objects.equals( message, other.message );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash( category, url, ignored, message );
+    }
+
+    @Override
+    public String toString()
+    {
+        return ( ignored ? "ignored " : "" ) + category + ": " + message;
+    }
+}
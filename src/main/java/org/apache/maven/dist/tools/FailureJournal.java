@@ -0,0 +1,211 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Failures of a check run, written through one buffered writer per file: the failures log, with the message of each
+ * failure not ignored, read by <code>check-errors</code>, and the failures journal in JSON Lines, with one structured
+ * entry per failure, ignored or not.
+ * Thread safe. Files are created on first failure and appended to, even after being closed.
+ */
+class FailureJournal
+    implements Closeable
+{
+    private static final String EOL = System.getProperty( "line.separator" );
+
+    private final String check;
+
+    private final File logFile;
+
+    private final File journalFile;
+
+    private Writer log;
+
+    private Writer journal;
+
+    /**
+     * @param check the check name, recorded in journal entries
+     * @param logFile the failures log
+     * @param journalFile the failures journal
+     */
+    FailureJournal( String check, File logFile, File journalFile )
+    {
+        this.check = check;
+        this.logFile = logFile;
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Delete the files of previous run.
+     */
+    void reset()
+    {
+        logFile.delete();
+        journalFile.delete();
+    }
+
+    /**
+     * Append failures of an artifact.
+     *
+     * @param cli the artifact
+     * @param version the checked version, <code>null</code> if none
+     * @param failures the failures
+     * @throws IOException if a file cannot be written
+     */
+    synchronized void write( ConfigurationLineInfo cli, String version, List<Failure> failures )
+        throws IOException
+    {
+        for ( Failure failure : failures )
+        {
+            if ( !failure.ignored )
+            {
+                if ( log == null )
+                {
+                    log = open( logFile );
+                }
+                log.write( failure.message );
+                log.write( EOL );
+            }
+
+            if ( journal == null )
+            {
+                journal = open( journalFile );
+            }
+            StringBuilder entry = new StringBuilder( 256 );
+            entry.append( '{' );
+            appendField( entry, "check", check ).append( ',' );
+            appendField( entry, "artifact", ( cli == null ) ? null : ( cli.getGroupId() + ':' + cli.getArtifactId() ) )
+                .append( ',' );
+            appendField( entry, "version", version ).append( ',' );
+            appendField( entry, "url", failure.url ).append( ',' );
+            appendField( entry, "category", failure.category ).append( ',' );
+            entry.append( "\"ignored\":" ).append( failure.ignored ).append( ',' );
+            appendField( entry, "message", failure.message );
+            entry.append( "}\n" );
+            journal.write( entry.toString() );
+        }
+    }
+
+    private static Writer open( File file )
+        throws IOException
+    {
+        file.getParentFile().mkdirs();
+        return Files.newBufferedWriter( file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                                        StandardOpenOption.APPEND );
+    }
+
+    private static StringBuilder appendField( StringBuilder sb, String name, String value )
+    {
+        sb.append( '"' ).append( name ).append( "\":" );
+        if ( value == null )
+        {
+            return sb.append( "null" );
+        }
+        sb.append( '"' );
+        for ( int i = 0; i < value.length(); i++ )
+        {
+            char c = value.charAt( i );
+            switch ( c )
+            {
+                case '"':
+                    sb.append( "\\\"" );
+                    break;
+                case '\\':
+                    sb.append( "\\\\" );
+                    break;
+                case '\n':
+                    sb.append( "\\n" );
+                    break;
+                case '\r':
+                    sb.append( "\\r" );
+                    break;
+                case '\t':
+                    sb.append( "\\t" );
+                    break;
+                default:
+                    if ( c < ' ' )
+                    {
+                        sb.append( String.format( "\\u%04x", ( int ) c ) );
+                    }
+                    else
+                    {
+                        sb.append( c );
+                    }
+            }
+        }
+        return sb.append( '"' );
+    }
+
+    /**
+     * Write buffered failures to files.
+     *
+     * @throws IOException if a file cannot be written
+     */
+    synchronized void flush()
+        throws IOException
+    {
+        if ( log != null )
+        {
+            log.flush();
+        }
+        if ( journal != null )
+        {
+            journal.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close()
+        throws IOException
+    {
+        try
+        {
+            if ( log != null )
+            {
+                log.close();
+            }
+        }
+        finally
+        {
+            log = null;
+            if ( journal != null )
+            {
+                try
+                {
+                    journal.close();
+                }
+                finally
+                {
+                    journal = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Urls that checks will read, compiled from configuration before any I/O: deduplicated, then grouped by host and
+ * directory to estimate the cost of a run. Urls that can only be known during the run, like site urls read from
+ * poms, are counted as unresolved.
+ */
+public class FetchPlan
+{
+    private final Map<String, Set<String>> checksByUrl = new TreeMap<>();
+
+    private final Map<String, Integer> requestsByCheck = new TreeMap<>();
+
+    private final Map<String, Integer> unresolved = new TreeMap<>();
+
+    private int estimatedVersions;
+
+    /**
+     * Add an url read by a check.
+     *
+     * @param check the check name
+     * @param url the url
+     */
+    public void add( String check, String url )
+    {
+        checksByUrl.computeIfAbsent( url, k -> new LinkedHashSet<>() ).add( check );
+        requestsByCheck.merge( check, 1, Integer::sum );
+    }
+
+    /**
+     * Add a request which url is only known during the run.
+     *
+     * @param check the check name
+     * @param what what is read
+     */
+    public void addUnresolved( String check, String what )
+    {
+        unresolved.merge( check + ": " + what, 1, Integer::sum );
+        requestsByCheck.merge( check, 1, Integer::sum );
+    }
+
+    /**
+     * Count an artifact which version is not known before the run: its version dependent urls are estimated.
+     */
+    void addEstimatedVersion()
+    {
+        estimatedVersions++;
+    }
+
+    /**
+     * @return number of requests of every check, before deduplication
+     */
+    public int getRequestCount()
+    {
+        int count = 0;
+        for ( int requests : requestsByCheck.values() )
+        {
+            count += requests;
+        }
+        return count;
+    }
+
+    /**
+     * @return number of distinct urls
+     */
+    public int getUrlCount()
+    {
+        return checksByUrl.size();
+    }
+
+    /**
+     * @return distinct urls, with checks reading them
+     */
+    public Map<String, Set<String>> getUrls()
+    {
+        return checksByUrl;
+    }
+
+    /**
+     * @return number of requests of each check, before deduplication
+     */
+    public Map<String, Integer> getRequestsByCheck()
+    {
+        return requestsByCheck;
+    }
+
+    /**
+     * @return number of distinct urls of each host
+     */
+    public Map<String, Integer> getRequestsByHost()
+    {
+        Map<String, Integer> requests = new TreeMap<>();
+        for ( String url : checksByUrl.keySet() )
+        {
+            requests.merge( getHost( url ), 1, Integer::sum );
+        }
+        return requests;
+    }
+
+    /**
+     * @return number of distinct urls of each directory, directories being grouped by host
+     */
+    public Map<String, Map<String, Integer>> getRequestsByDirectory()
+    {
+        Map<String, Map<String, Integer>> requests = new TreeMap<>();
+        for ( String url : checksByUrl.keySet() )
+        {
+            String directory = url.endsWith( "/" ) ? url.substring( 0, url.length() - 1 ) : url;
+            directory = directory.substring( 0, directory.lastIndexOf( '/' ) + 1 );
+            requests.computeIfAbsent( getHost( url ), k -> new TreeMap<>() ).merge( directory, 1, Integer::sum );
+        }
+        return requests;
+    }
+
+    /**
+     * @return number of requests of each kind which url is only known during the run
+     */
+    public Map<String, Integer> getUnresolved()
+    {
+        return unresolved;
+    }
+
+    /**
+     * @return number of artifacts which version was not known before the run
+     */
+    public int getEstimatedVersions()
+    {
+        return estimatedVersions;
+    }
+
+    private static String getHost( String url )
+    {
+        try
+        {
+            return new URL( url ).getHost();
+        }
+        catch ( MalformedURLException e )
+        {
+            return url;
+        }
+    }
+}
@@ -20,49 +20,58 @@ package org.apache.maven.dist.tools;
  */
 
 import java.io.IOException;
+import java.io.InputStream;
 
+import org.apache.maven.dist.tools.http.HttpFetcher;
+import org.apache.maven.dist.tools.http.HttpResource;
+import org.apache.maven.dist.tools.http.SingleFlight;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 
 /**
- * Reads a url with Jsoup, retrying multiple times in case of IOException.
+ * Reads a url with {@link HttpFetcher} and parses it with Jsoup.
+ * Transient failures are retried by {@link HttpFetcher} with its
+ * {@link org.apache.maven.dist.tools.http.RetryPolicy RetryPolicy}.
+ * Concurrent callers for the same url share one download and one parsed document: documents must not be modified.
  */
 public class JsoupRetry
 {
-    public static final int MAX_RETRY = 3;
-
-    public static final int WAIT_RETRY_SECONDS = 10;
+    private static final SingleFlight<String, Document> IN_FLIGHT = new SingleFlight<>();
 
     public static Document get( String url )
         throws IOException
     {
-        for ( int i = 1; i <= MAX_RETRY; i++ )
-        {
-            try
-            {
-                return Jsoup.connect( url ).get();
-            }
-            catch ( IOException ioe )
-            {
-                System.err.println( "IOException try " + i + " while reading " + url + ": " + ioe.getClass() + " "
-                    + ioe.getMessage() );
+        return IN_FLIGHT.execute( url, () -> parse( HttpFetcher.get( url ) ) );
+    }
 
-                if ( i == MAX_RETRY )
-                {
-                    throw new IOException( "IOException while reading " + url, ioe );
-                }
-            }
+    /**
+     * Parse a downloaded resource, sharing the result with concurrent callers for the same url.
+     *
+     * @param url the requested url
+     * @param resource the downloaded resource
+     * @return the parsed document
+     * @throws IOException if parsing fails
+     */
+    public static Document parse( String url, HttpResource resource )
+        throws IOException
+    {
+        return IN_FLIGHT.execute( url, () -> parse( resource ) );
+    }
 
-            try
-            {
-                Thread.sleep( WAIT_RETRY_SECONDS * 1000 );
-            }
-            catch ( InterruptedException e )
-            {
-                // not expected to happen
-            }
+    public static Document parse( HttpResource resource )
+        throws IOException
+    {
+        try ( InputStream in = resource.openStream() )
+        {
+            return Jsoup.parse( in, resource.getCharset(), resource.getUrl() );
         }
+    }
 
-        return null;
+    /**
+     * @return number of reads that shared the in-flight download and parsing of the same url
+     */
+    public static int getCoalescedParses()
+    {
+        return IN_FLIGHT.getCoalesced();
     }
 }
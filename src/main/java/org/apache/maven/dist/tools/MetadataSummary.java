@@ -0,0 +1,157 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Fields of <code>maven-metadata.xml</code> used by checks: latest version, last update and, when requested,
+ * available versions. Read by streaming the document instead of building the full metadata model: reading stops
+ * as soon as requested fields are known.
+ */
+final class MetadataSummary
+{
+    private final String latest;
+
+    private final String lastUpdated;
+
+    private final List<String> versions;
+
+    /**
+     * Built on first range match, then shared by every check of the artifact.
+     */
+    private volatile VersionIndex versionIndex;
+
+    MetadataSummary( String latest, String lastUpdated, List<String> versions )
+    {
+        this.latest = latest;
+        this.lastUpdated = lastUpdated;
+        this.versions = ( versions == null ) ? null : Collections.unmodifiableList( versions );
+    }
+
+    /**
+     * Read metadata fields.
+     *
+     * @param input the metadata document
+     * @param withVersions <code>true</code> to read available versions
+     * @return the metadata summary
+     * @throws IOException if the document cannot be read
+     * @throws XmlPullParserException if the document is not well-formed
+     */
+    static MetadataSummary read( InputStream input, boolean withVersions )
+        throws IOException, XmlPullParserException
+    {
+        XmlPullParser parser = new MXParser();
+        parser.setInput( input, null );
+
+        String latest = null;
+        String lastUpdated = null;
+        List<String> versions = withVersions ? new ArrayList<String>() : null;
+
+        boolean inVersioning = false;
+        int eventType = parser.getEventType();
+        while ( eventType != XmlPullParser.END_DOCUMENT )
+        {
+            if ( eventType == XmlPullParser.START_TAG )
+            {
+                // metadata/versioning/{latest,lastUpdated,versions/version}
+                String name = parser.getName();
+                int depth = parser.getDepth();
+                if ( ( depth == 2 ) && "versioning".equals( name ) )
+                {
+                    inVersioning = true;
+                }
+                else if ( inVersioning && ( depth == 3 ) && "latest".equals( name ) )
+                {
+                    latest = parser.nextText().trim();
+                }
+                else if ( inVersioning && ( depth == 3 ) && "lastUpdated".equals( name ) )
+                {
+                    lastUpdated = parser.nextText().trim();
+                }
+                else if ( inVersioning && ( depth == 4 ) && ( versions != null ) && "version".equals( name ) )
+                {
+                    versions.add( parser.nextText().trim() );
+                }
+
+                if ( ( versions == null ) && ( latest != null ) && ( lastUpdated != null ) )
+                {
+                    // nothing more to read
+                    break;
+                }
+            }
+            else if ( ( eventType == XmlPullParser.END_TAG ) && inVersioning && ( parser.getDepth() == 2 ) )
+            {
+                break;
+            }
+            eventType = parser.next();
+        }
+
+        return new MetadataSummary( latest, lastUpdated, versions );
+    }
+
+    /**
+     * @return the latest version, or <code>null</code> if not available
+     */
+    String getLatest()
+    {
+        return latest;
+    }
+
+    /**
+     * @return the last update timestamp, or <code>null</code> if not available
+     */
+    String getLastUpdated()
+    {
+        return lastUpdated;
+    }
+
+    /**
+     * @return available versions, in metadata order, or <code>null</code> if not read
+     */
+    List<String> getVersions()
+    {
+        return versions;
+    }
+
+    /**
+     * @return index of available versions, or <code>null</code> if versions were not read
+     */
+    VersionIndex getVersionIndex()
+    {
+        VersionIndex index = versionIndex;
+        if ( ( index == null ) && ( versions != null ) )
+        {
+            // may be built concurrently by 2 checks: same result
+            index = new VersionIndex( versions );
+            versionIndex = index;
+        }
+        return index;
+    }
+}
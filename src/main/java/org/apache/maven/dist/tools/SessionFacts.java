@@ -0,0 +1,172 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.dist.tools.http.HttpCache;
+import org.apache.maven.dist.tools.http.HttpFetcher;
+import org.apache.maven.dist.tools.http.RedirectCache;
+
+/**
+ * Facts shared by every check report of a build: configuration, metadata read from the repository and HTTP
+ * cache, which knows the resources already downloaded or revalidated. A full <code>mvn site</code> run reads each of
+ * them once instead of once per report.
+ * Singleton component of the plugin realm, which may outlive a build: facts are reset when a new build starts.
+ */
+@Named
+@Singleton
+public class SessionFacts
+{
+    private Date buildStartTime;
+
+    private List<String> configuration;
+
+    private static final String WITH_VERSIONS = "#versions";
+
+    private final Map<String, FutureTask<MetadataSummary>> metadata = new ConcurrentHashMap<>();
+
+    private final Map<File, HttpCache> httpCaches = new ConcurrentHashMap<>();
+
+    private final Map<File, RedirectCache> redirectCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Start using facts for a build: facts of another build are forgotten.
+     *
+     * @param startTime start time of the build, <code>null</code> if not known
+     */
+    public synchronized void startBuild( Date startTime )
+    {
+        if ( ( startTime == null ) || !startTime.equals( buildStartTime ) )
+        {
+            buildStartTime = startTime;
+            configuration = null;
+            metadata.clear();
+            httpCaches.clear();
+            redirectCaches.clear();
+            // rate limits are declared in configuration, read again
+            HttpFetcher.clearRateLimits();
+        }
+    }
+
+    /**
+     * @return configuration lines, or <code>null</code> if not yet read
+     */
+    synchronized List<String> getConfiguration()
+    {
+        return configuration;
+    }
+
+    synchronized void setConfiguration( List<String> lines )
+    {
+        this.configuration = Collections.unmodifiableList( lines );
+    }
+
+    /**
+     * Metadata read once during the build: concurrent checks asking for the same url wait for the first reader.
+     * A failed read is not kept, to be read again later.
+     *
+     * @param url the metadata url
+     * @param withVersions <code>true</code> if available versions are required
+     * @param reader reads the metadata if not yet read, with versions if required
+     * @return the metadata
+     * @throws Exception the failure of the reader
+     */
+    MetadataSummary getMetadata( String url, boolean withVersions, Callable<MetadataSummary> reader )
+        throws Exception
+    {
+        String key = url + WITH_VERSIONS;
+        if ( !withVersions && !metadata.containsKey( key ) )
+        {
+            key = url;
+        }
+        FutureTask<MetadataSummary> task = new FutureTask<>( reader );
+        FutureTask<MetadataSummary> existing = metadata.putIfAbsent( key, task );
+        if ( existing == null )
+        {
+            task.run();
+        }
+        else
+        {
+            task = existing;
+        }
+        try
+        {
+            return task.get();
+        }
+        catch ( ExecutionException e )
+        {
+            metadata.remove( key, task );
+            Throwable cause = e.getCause();
+            if ( cause instanceof Exception )
+            {
+                throw ( Exception ) cause;
+            }
+            throw ( Error ) cause;
+        }
+    }
+
+    /**
+     * @param directory the HTTP cache directory
+     * @return the HTTP cache of the build for this directory
+     */
+    HttpCache getHttpCache( File directory )
+    {
+        return httpCaches.computeIfAbsent( directory, HttpCache::new );
+    }
+
+    /**
+     * @param directory the HTTP cache directory
+     * @return the permanent redirects known in this directory, loaded once per build
+     */
+    RedirectCache getRedirectCache( File directory )
+    {
+        return redirectCaches.computeIfAbsent( directory, dir -> {
+            RedirectCache redirects = new RedirectCache( new File( dir, "redirects.properties" ) );
+            try
+            {
+                redirects.load();
+            }
+            catch ( IOException ioe )
+            {
+                // unreadable: redirects are learned again, and the file replaced
+            }
+            return redirects;
+        } );
+    }
+
+    int getMetadataCount()
+    {
+        return metadata.size();
+    }
+}
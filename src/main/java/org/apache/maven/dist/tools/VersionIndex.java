@@ -0,0 +1,130 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.Restriction;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+/**
+ * Available versions of an artifact, parsed and sorted once per metadata document: a version range is matched with
+ * a binary search per restriction instead of parsing and scanning every version.
+ */
+final class VersionIndex
+{
+    private final ArtifactVersion[] versions;
+
+    /**
+     * @param versions available versions, in metadata order
+     */
+    VersionIndex( List<String> versions )
+    {
+        this.versions = new ArtifactVersion[versions.size()];
+        for ( int i = 0; i < this.versions.length; i++ )
+        {
+            this.versions[i] = new DefaultArtifactVersion( versions.get( i ) );
+        }
+        // stable sort: equal versions keep metadata order
+        Arrays.sort( this.versions );
+    }
+
+    /**
+     * Find the highest version matching a range, like {@link VersionRange#matchVersion(List)}.
+     *
+     * @param range the version range
+     * @return the highest matching version, or <code>null</code> if none
+     */
+    ArtifactVersion match( VersionRange range )
+    {
+        ArtifactVersion matched = null;
+        for ( Object r : range.getRestrictions() )
+        {
+            Restriction restriction = ( Restriction ) r;
+            int index = ( restriction.getUpperBound() == null ) ? versions.length - 1
+                            : floor( restriction.getUpperBound(), restriction.isUpperBoundInclusive() );
+            if ( index < 0 )
+            {
+                continue;
+            }
+            // first of equal versions, as a scan in metadata order would find
+            while ( ( index > 0 ) && ( versions[index - 1].compareTo( versions[index] ) == 0 ) )
+            {
+                index--;
+            }
+            ArtifactVersion candidate = versions[index];
+            ArtifactVersion lower = restriction.getLowerBound();
+            if ( ( lower != null ) && ( restriction.isLowerBoundInclusive() ? ( candidate.compareTo( lower ) < 0 )
+                            : ( candidate.compareTo( lower ) <= 0 ) ) )
+            {
+                // highest version below upper bound is below lower bound: nothing in this restriction
+                continue;
+            }
+            if ( ( matched == null ) || ( candidate.compareTo( matched ) > 0 ) )
+            {
+                matched = candidate;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * @return index of the highest version below the bound, or -1 if none
+     */
+    private int floor( ArtifactVersion bound, boolean inclusive )
+    {
+        int low = 0;
+        int high = versions.length - 1;
+        while ( low <= high )
+        {
+            int middle = ( low + high ) >>> 1;
+            int comparison = versions[middle].compareTo( bound );
+            if ( ( comparison < 0 ) || ( inclusive && ( comparison == 0 ) ) )
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return versions from highest to lowest
+     */
+    List<String> getVersionsDescending()
+    {
+        List<String> descending = new ArrayList<>( versions.length );
+        for ( ArtifactVersion version : versions )
+        {
+            descending.add( version.toString() );
+        }
+        Collections.reverse( descending );
+        return descending;
+    }
+}
@@ -0,0 +1,87 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to JDK 21+ virtual threads from code compiled for Java 8: <code>null</code> when not available.
+ */
+final class VirtualThreads
+{
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookup();
+
+    private VirtualThreads()
+    {
+        // no instance
+    }
+
+    private static Method lookup()
+    {
+        try
+        {
+            Method method = Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" );
+            // JDK 19-20 have the method, but as a preview API failing without --enable-preview
+            ( ( ExecutorService ) method.invoke( null ) ).shutdown();
+            return method;
+        }
+        catch ( NoSuchMethodException nsme )
+        {
+            // JDK < 19
+            return null;
+        }
+        catch ( ReflectiveOperationException | RuntimeException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the running JDK provides virtual threads, checked once by creating an executor
+     */
+    static boolean isAvailable()
+    {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return an executor starting a new virtual thread for each task, or <code>null</code> if the running JDK
+     *         does not provide virtual threads
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor()
+    {
+        if ( !isAvailable() )
+        {
+            return null;
+        }
+        try
+        {
+            return ( ExecutorService ) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke( null );
+        }
+        catch ( ReflectiveOperationException roe )
+        {
+            // already checked by lookup()
+            return null;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-host limit of concurrent requests, adapted with AIMD (additive increase, multiplicative decrease): while the
+ * limit is used and latency stays flat, it grows by one per limit's worth of successful requests; on timeout, 429 or
+ * 5xx, it is halved, at most once per round trip.
+ * Uses an explicit lock, not <code>synchronized</code>, to let virtual threads wait without pinning their carrier.
+ */
+public class AdaptiveConcurrencyLimit
+{
+    /**
+     * Smoothed latency up to this ratio of the minimum observed latency is considered flat.
+     */
+    private static final double LATENCY_TOLERANCE = 2.0;
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private static final int MIN_LIMIT = 1;
+
+    private final String host;
+
+    private final int maxLimit;
+
+    private final int initialLimit;
+
+    private final long startNanos = System.nanoTime();
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Condition available = lock.newCondition();
+
+    private double limit;
+
+    private int inFlight;
+
+    private long minLatencyNanos = Long.MAX_VALUE;
+
+    private double smoothedLatencyNanos;
+
+    private long lastDecreaseNanos;
+
+    private int lowestLimit;
+
+    private int highestLimit;
+
+    private int increases;
+
+    private int decreases;
+
+    private final List<String> changes = new ArrayList<>();
+
+    private final HttpFetcher.Listener listener;
+
+    /**
+     * @param host the host
+     * @param initialLimit initial number of concurrent requests
+     * @param maxLimit maximum number of concurrent requests
+     * @param listener the listener warned when the host is overloaded
+     */
+    public AdaptiveConcurrencyLimit( String host, int initialLimit, int maxLimit, HttpFetcher.Listener listener )
+    {
+        this.host = host;
+        this.listener = listener;
+        this.maxLimit = Math.max( MIN_LIMIT, maxLimit );
+        this.initialLimit = Math.max( MIN_LIMIT, Math.min( initialLimit, this.maxLimit ) );
+        this.limit = this.initialLimit;
+        this.lowestLimit = this.initialLimit;
+        this.highestLimit = this.initialLimit;
+    }
+
+    public String getHost()
+    {
+        return host;
+    }
+
+    /**
+     * Wait until a request can be sent: must be followed by {@link #release(long, boolean)}.
+     *
+     * @throws InterruptedIOException if interrupted while waiting
+     */
+    public void acquire()
+        throws InterruptedIOException
+    {
+        lock.lock();
+        try
+        {
+            while ( inFlight >= ( int ) limit )
+            {
+                available.await();
+            }
+            inFlight++;
+        }
+        catch ( InterruptedException ie )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "interrupted while waiting for concurrency limit of " + host );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give back a slot without sending the request.
+     */
+    public void cancel()
+    {
+        lock.lock();
+        try
+        {
+            inFlight--;
+            available.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record the outcome of a request and adapt the limit.
+     *
+     * @param latencyNanos duration of the request
+     * @param overload <code>true</code> if the request failed with a timeout, 429 or 5xx
+     */
+    public void release( long latencyNanos, boolean overload )
+    {
+        lock.lock();
+        try
+        {
+            int used = inFlight--;
+            int previous = ( int ) limit;
+            long now = System.nanoTime();
+            if ( overload )
+            {
+                // failures of requests sent during the same round trip reflect the same overload
+                long roundTripNanos = Math.max( ( long ) smoothedLatencyNanos, latencyNanos );
+                if ( ( decreases == 0 ) || ( now - lastDecreaseNanos > roundTripNanos ) )
+                {
+                    limit = Math.max( MIN_LIMIT, limit * BACKOFF_RATIO );
+                    lastDecreaseNanos = now;
+                    decreases++;
+                }
+            }
+            else
+            {
+                minLatencyNanos = Math.min( minLatencyNanos, latencyNanos );
+                smoothedLatencyNanos = ( smoothedLatencyNanos == 0 ) ? latencyNanos
+                                : ( 1 - SMOOTHING ) * smoothedLatencyNanos + SMOOTHING * latencyNanos;
+                if ( ( used >= previous ) && ( smoothedLatencyNanos <= LATENCY_TOLERANCE * minLatencyNanos ) )
+                {
+                    limit = Math.min( maxLimit, limit + 1 / limit );
+                }
+            }
+
+            int current = ( int ) limit;
+            if ( current != previous )
+            {
+                recordChange( previous, current, overload, now );
+            }
+            available.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void recordChange( int previous, int current, boolean overload, long now )
+    {
+        if ( current > previous )
+        {
+            increases++;
+        }
+        lowestLimit = Math.min( lowestLimit, current );
+        highestLimit = Math.max( highestLimit, current );
+        changes.add( String.format( "%.1fs: %d -> %d", ( now - startNanos ) / 1e9, previous, current ) );
+        if ( overload )
+        {
+            listener.warn( "Host " + host + " overloaded: concurrency limit " + previous + " -> " + current );
+        }
+    }
+
+    /**
+     * @return current number of concurrent requests allowed
+     */
+    public int getLimit()
+    {
+        lock.lock();
+        try
+        {
+            return ( int ) limit;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return every change of the limit, with the time since first request
+     */
+    public List<String> getChanges()
+    {
+        lock.lock();
+        try
+        {
+            return new ArrayList<>( changes );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        lock.lock();
+        try
+        {
+            return String.format( "%s: limit %d (started at %d, range %d-%d, max %d), %d increases, %d decreases,"
+                + " latency min %d ms, smoothed %d ms", host, ( int ) limit, initialLimit, lowestLimit, highestLimit,
+                                  maxLimit, increases, decreases, TimeUnit.NANOSECONDS.toMillis(
+                                      ( minLatencyNanos == Long.MAX_VALUE ) ? 0 : minLatencyNanos ),
+                                  TimeUnit.NANOSECONDS.toMillis( ( long ) smoothedLatencyNanos ) );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+}
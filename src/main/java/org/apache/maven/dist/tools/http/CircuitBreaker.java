@@ -0,0 +1,138 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host circuit breaker: after too many consecutive failures, the host is considered down and following requests
+ * fail fast, until a trial request is allowed after a cool down period.
+ */
+public class CircuitBreaker
+{
+    private final String host;
+
+    private final int failureThreshold;
+
+    private final long coolDownNanos;
+
+    private int consecutiveFailures;
+
+    private long openedAt;
+
+    private boolean open;
+
+    private boolean trialInProgress;
+
+    private int rejected;
+
+    private int outages;
+
+    /**
+     * @param host the host
+     * @param failureThreshold number of consecutive failures that opens the circuit
+     * @param coolDownMillis delay before a trial request is allowed once the circuit is open
+     */
+    public CircuitBreaker( String host, int failureThreshold, long coolDownMillis )
+    {
+        this.host = host;
+        this.failureThreshold = failureThreshold;
+        this.coolDownNanos = TimeUnit.MILLISECONDS.toNanos( coolDownMillis );
+    }
+
+    public String getHost()
+    {
+        return host;
+    }
+
+    /**
+     * Check if a request can be sent.
+     *
+     * @return <code>true</code> if request can be sent, <code>false</code> if it must fail fast
+     */
+    public synchronized boolean allowRequest()
+    {
+        if ( !open )
+        {
+            return true;
+        }
+        if ( !trialInProgress && ( System.nanoTime() - openedAt >= coolDownNanos ) )
+        {
+            // half-open: let one request check if host is back
+            trialInProgress = true;
+            return true;
+        }
+        rejected++;
+        return false;
+    }
+
+    public synchronized void recordSuccess()
+    {
+        consecutiveFailures = 0;
+        open = false;
+        trialInProgress = false;
+    }
+
+    /**
+     * Record a failure.
+     *
+     * @return <code>true</code> if this failure opened the circuit
+     */
+    public synchronized boolean recordFailure()
+    {
+        consecutiveFailures++;
+        if ( open )
+        {
+            // failed trial: wait for another cool down period
+            trialInProgress = false;
+            openedAt = System.nanoTime();
+            return false;
+        }
+        if ( consecutiveFailures >= failureThreshold )
+        {
+            open = true;
+            openedAt = System.nanoTime();
+            outages++;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized boolean isOpen()
+    {
+        return open;
+    }
+
+    /**
+     * @return number of times the host was detected as down
+     */
+    public synchronized int getOutages()
+    {
+        return outages;
+    }
+
+    /**
+     * @return number of requests that failed fast because host was down
+     */
+    public synchronized int getRejected()
+    {
+        return rejected;
+    }
+}
@@ -0,0 +1,47 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Thrown by {@link HttpFetcher} instead of waiting before retrying a failed request, when retries are deferred:
+ * the caller is expected to do something else and retry later.
+ */
+public class DeferredRetryException
+    extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final long delayMillis;
+
+    public DeferredRetryException( String url, long delayMillis, Throwable cause )
+    {
+        super( "retry " + url + " in " + delayMillis + " ms after " + cause.getClass().getSimpleName() + " "
+            + cause.getMessage(), cause );
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * @return the delay before retrying, in milliseconds
+     */
+    public long getDelayMillis()
+    {
+        return delayMillis;
+    }
+}
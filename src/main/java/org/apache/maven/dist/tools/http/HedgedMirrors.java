@@ -0,0 +1,355 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Equivalent repository mirrors, for hedged requests: a request to the first mirror that has not answered within a
+ * percentile of observed latencies, or that failed, is sent again to another mirror. The first successful answer is
+ * used and the other request cancelled.
+ */
+public class HedgedMirrors
+{
+    private static final int WINDOW = 256;
+
+    /**
+     * Minimum number of observed latencies to compute the percentile: until then, hedge after a fixed delay.
+     */
+    private static final int MIN_SAMPLES = 20;
+
+    private static final long INITIAL_DELAY_NANOS = TimeUnit.SECONDS.toNanos( 1 );
+
+    private final List<String> baseUrls;
+
+    private final double percentile;
+
+    private final AtomicInteger[] wins;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final AtomicInteger hedged = new AtomicInteger();
+
+    private final AtomicInteger hedgesWon = new AtomicInteger();
+
+    private final AtomicInteger nextHedge = new AtomicInteger();
+
+    private final long[] latencies = new long[WINDOW];
+
+    private int samples;
+
+    /**
+     * Shared by every instance, as configuring other mirrors replaces the instance while requests may still be
+     * running: idle daemon threads end by themselves.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool( r -> {
+        Thread thread = new Thread( r, "dist-tool-hedged-request" );
+        thread.setDaemon( true );
+        return thread;
+    } );
+
+    /**
+     * A request of the resource to an url.
+     */
+    public interface Attempt
+    {
+        HttpResource fetch( String url )
+            throws IOException;
+    }
+
+    /**
+     * @param baseUrls base urls of equivalent repositories, first one being the url used to build requested urls
+     * @param percentile percentile of observed latencies after which a request is hedged, between 0 and 100
+     */
+    public HedgedMirrors( List<String> baseUrls, double percentile )
+    {
+        this.baseUrls = normalize( baseUrls );
+        this.percentile = percentile;
+        this.wins = new AtomicInteger[this.baseUrls.size()];
+        for ( int i = 0; i < wins.length; i++ )
+        {
+            wins[i] = new AtomicInteger();
+        }
+    }
+
+    public boolean hasSettings( List<String> otherBaseUrls, double otherPercentile )
+    {
+        return normalize( otherBaseUrls ).equals( baseUrls ) && ( percentile == otherPercentile );
+    }
+
+    private static List<String> normalize( List<String> baseUrls )
+    {
+        List<String> urls = new ArrayList<>();
+        for ( String baseUrl : baseUrls )
+        {
+            urls.add( normalize( baseUrl ) );
+        }
+        return Collections.unmodifiableList( urls );
+    }
+
+    private static String normalize( String baseUrl )
+    {
+        return baseUrl.endsWith( "/" ) ? baseUrl : ( baseUrl + '/' );
+    }
+
+    /**
+     * @param url the requested url
+     * @return <code>true</code> if the url is in the first repository and can be requested from a mirror
+     */
+    public boolean isMirrored( String url )
+    {
+        return ( baseUrls.size() > 1 ) && url.startsWith( baseUrls.get( 0 ) );
+    }
+
+    /**
+     * Fetch an url of the first repository, hedged with a request to a mirror.
+     *
+     * @param url the requested url, in the first repository
+     * @param attempt the request of the resource to one mirror
+     * @param transport the transport, to abort the cancelled request
+     * @return the first successful answer
+     * @throws IOException failure of the request to the first repository, if both requests failed
+     */
+    HttpResource fetch( String url, Attempt attempt, HttpTransport transport )
+        throws IOException
+    {
+        requests.incrementAndGet();
+        String path = url.substring( baseUrls.get( 0 ).length() );
+        int mirror = 1 + Math.floorMod( nextHedge.getAndIncrement(), baseUrls.size() - 1 );
+
+        long start = System.nanoTime();
+        CompletionService<HttpResource> completion = new ExecutorCompletionService<>( EXECUTOR );
+        Request primary = new Request( 0, url, attempt );
+        primary.submit( completion );
+        Request hedge = null;
+        Throwable failure = null;
+        try
+        {
+            Future<HttpResource> done = completion.poll( getHedgeDelayNanos(), TimeUnit.NANOSECONDS );
+            if ( done == null )
+            {
+                hedge = new Request( mirror, baseUrls.get( mirror ) + path, attempt );
+                hedge.submit( completion );
+                hedged.incrementAndGet();
+            }
+            for ( int pending = ( hedge == null ) ? 1 : 2; pending > 0; pending-- )
+            {
+                if ( done == null )
+                {
+                    done = completion.take();
+                }
+                Request request = ( done == primary.future ) ? primary : hedge;
+                try
+                {
+                    HttpResource resource = done.get();
+                    wins[request.mirror].incrementAndGet();
+                    if ( request == hedge )
+                    {
+                        hedgesWon.incrementAndGet();
+                    }
+                    recordLatency( System.nanoTime() - start );
+                    return resource;
+                }
+                catch ( ExecutionException ee )
+                {
+                    if ( request == primary )
+                    {
+                        failure = ee.getCause();
+                    }
+                    else if ( failure == null )
+                    {
+                        failure = ee.getCause();
+                    }
+                }
+                done = null;
+                if ( hedge == null )
+                {
+                    // first repository failed fast: ask the mirror now
+                    hedge = new Request( mirror, baseUrls.get( mirror ) + path, attempt );
+                    hedge.submit( completion );
+                    hedged.incrementAndGet();
+                    pending++;
+                }
+            }
+        }
+        catch ( InterruptedException ie )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "interrupted while reading " + url );
+        }
+        finally
+        {
+            primary.cancel( transport );
+            if ( hedge != null )
+            {
+                hedge.cancel( transport );
+            }
+        }
+
+        if ( failure instanceof IOException )
+        {
+            throw ( IOException ) failure;
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw ( RuntimeException ) failure;
+        }
+        throw ( Error ) failure;
+    }
+
+    /**
+     * @return delay after which a request is hedged: the percentile of recent latencies
+     */
+    long getHedgeDelayNanos()
+    {
+        long[] recent;
+        synchronized ( latencies )
+        {
+            if ( samples < MIN_SAMPLES )
+            {
+                return INITIAL_DELAY_NANOS;
+            }
+            recent = Arrays.copyOf( latencies, Math.min( samples, WINDOW ) );
+        }
+        Arrays.sort( recent );
+        int index = ( int ) Math.ceil( percentile / 100 * recent.length ) - 1;
+        return recent[Math.max( 0, Math.min( index, recent.length - 1 ) )];
+    }
+
+    void recordLatency( long nanos )
+    {
+        synchronized ( latencies )
+        {
+            latencies[samples % WINDOW] = nanos;
+            samples++;
+        }
+    }
+
+    /**
+     * @param baseUrl a mirror base url
+     * @return number of requests this mirror answered first
+     */
+    public int getWins( String baseUrl )
+    {
+        int index = baseUrls.indexOf( normalize( baseUrl ) );
+        return ( index < 0 ) ? 0 : wins[index].get();
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder( "Mirrors: " );
+        sb.append( requests.get() ).append( " requests, " ).append( hedged.get() ).append( " hedged, " );
+        sb.append( hedgesWon.get() ).append( " won by the hedge, hedge after " );
+        sb.append( TimeUnit.NANOSECONDS.toMillis( getHedgeDelayNanos() ) ).append( " ms (p" );
+        sb.append( percentile ).append( "); wins:" );
+        for ( int i = 0; i < wins.length; i++ )
+        {
+            sb.append( ' ' ).append( baseUrls.get( i ) ).append( '=' ).append( wins[i].get() );
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A request sent to one mirror, in a thread of the executor.
+     */
+    private static final class Request
+        implements Callable<HttpResource>
+    {
+        private final int mirror;
+
+        private final String url;
+
+        private final Attempt attempt;
+
+        private Future<HttpResource> future;
+
+        private Thread thread;
+
+        private boolean cancelled;
+
+        Request( int mirror, String url, Attempt attempt )
+        {
+            this.mirror = mirror;
+            this.url = url;
+            this.attempt = attempt;
+        }
+
+        void submit( CompletionService<HttpResource> completion )
+        {
+            future = completion.submit( this );
+        }
+
+        @Override
+        public HttpResource call()
+            throws IOException
+        {
+            synchronized ( this )
+            {
+                if ( cancelled )
+                {
+                    throw new InterruptedIOException( "cancelled request of " + url );
+                }
+                thread = Thread.currentThread();
+            }
+            try
+            {
+                return attempt.fetch( url );
+            }
+            finally
+            {
+                synchronized ( this )
+                {
+                    thread = null;
+                    // clear a cancellation interrupt before the thread is reused
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * Cancel the request if still running, aborting its connection.
+         */
+        synchronized void cancel( HttpTransport transport )
+        {
+            cancelled = true;
+            if ( thread != null )
+            {
+                thread.interrupt();
+                transport.abort( thread );
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistent HTTP cache: stores downloaded content with its <code>ETag</code> and <code>Last-Modified</code> headers,
+ * to revalidate on next run with a conditional GET. A resource already validated during the run is served from
+ * cache without any request.
+ */
+public class HttpCache
+{
+    private static final String URL = "url";
+
+    private static final String LOCATION = "location";
+
+    private static final String CONTENT_TYPE = "content-type";
+
+    private static final String ETAG = "etag";
+
+    private static final String LAST_MODIFIED = "last-modified";
+
+    private final File directory;
+
+    private final Set<String> validated = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private final AtomicInteger revalidations = new AtomicInteger();
+
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public HttpCache( File directory )
+    {
+        this.directory = directory;
+    }
+
+    public File getDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * Get a resource that was already downloaded or revalidated during this run.
+     *
+     * @param url the requested url
+     * @return the cached resource, or <code>null</code> if it has to be (re)validated
+     */
+    public HttpResource getValidated( String url )
+    {
+        if ( validated.contains( url ) )
+        {
+            HttpResource resource = load( url );
+            if ( resource != null )
+            {
+                hits.incrementAndGet();
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Load a resource from cache, whatever its freshness.
+     *
+     * @param url the requested url
+     * @return the cached resource, or <code>null</code> if not in cache
+     */
+    public HttpResource load( String url )
+    {
+        File metadataFile = getFile( url, ".properties" );
+        File bodyFile = getFile( url, ".body" );
+        if ( !metadataFile.isFile() || !bodyFile.isFile() )
+        {
+            return null;
+        }
+
+        try ( InputStream in = Files.newInputStream( metadataFile.toPath() ) )
+        {
+            Properties metadata = new Properties();
+            metadata.load( in );
+            if ( !url.equals( metadata.getProperty( URL ) ) )
+            {
+                // hash collision
+                return null;
+            }
+            return new HttpResource( metadata.getProperty( LOCATION ), metadata.getProperty( CONTENT_TYPE ),
+                                     metadata.getProperty( ETAG ), metadata.getProperty( LAST_MODIFIED ),
+                                     Files.readAllBytes( bodyFile.toPath() ) );
+        }
+        catch ( IOException ioe )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Store a freshly downloaded resource.
+     *
+     * @param url the requested url
+     * @param resource the downloaded resource
+     */
+    public void store( String url, HttpResource resource )
+    {
+        misses.incrementAndGet();
+
+        Properties metadata = new Properties();
+        metadata.setProperty( URL, url );
+        metadata.setProperty( LOCATION, resource.getUrl() );
+        setProperty( metadata, CONTENT_TYPE, resource.getContentType() );
+        setProperty( metadata, ETAG, resource.getEtag() );
+        setProperty( metadata, LAST_MODIFIED, resource.getLastModified() );
+
+        try
+        {
+            directory.mkdirs();
+            write( getFile( url, ".body" ), resource.getBody() );
+
+            File tmp = File.createTempFile( "http", ".tmp", directory );
+            try ( OutputStream out = Files.newOutputStream( tmp.toPath() ) )
+            {
+                metadata.store( out, null );
+            }
+            move( tmp, getFile( url, ".properties" ) );
+
+            validated.add( url );
+        }
+        catch ( IOException ioe )
+        {
+            // cache is only an optimization
+        }
+    }
+
+    /**
+     * Record that a cached resource was confirmed unchanged by the server (HTTP 304).
+     *
+     * @param url the requested url
+     */
+    public void revalidated( String url )
+    {
+        revalidations.incrementAndGet();
+        validated.add( url );
+    }
+
+    public int getHits()
+    {
+        return hits.get();
+    }
+
+    public int getRevalidations()
+    {
+        return revalidations.get();
+    }
+
+    public int getMisses()
+    {
+        return misses.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HTTP cache " + directory + ": " + hits + " hits, " + revalidations + " revalidations, " + misses
+            + " misses";
+    }
+
+    private static void setProperty( Properties properties, String key, String value )
+    {
+        if ( value != null )
+        {
+            properties.setProperty( key, value );
+        }
+    }
+
+    private void write( File file, byte[] content )
+        throws IOException
+    {
+        File tmp = File.createTempFile( "http", ".tmp", directory );
+        Files.write( tmp.toPath(), content );
+        move( tmp, file );
+    }
+
+    private static void move( File source, File target )
+        throws IOException
+    {
+        Files.move( source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    private File getFile( String url, String extension )
+    {
+        return new File( directory, sha1( url ) + extension );
+    }
+
+    private static String sha1( String url )
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance( "SHA-1" ).digest( url.getBytes( StandardCharsets.UTF_8 ) );
+            StringBuilder sb = new StringBuilder( 2 * digest.length );
+            for ( byte b : digest )
+            {
+                sb.append( String.format( "%02x", b ) );
+            }
+            return sb.toString();
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+}
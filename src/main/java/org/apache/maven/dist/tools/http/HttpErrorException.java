@@ -0,0 +1,47 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.jsoup.HttpStatusException;
+
+/**
+ * HTTP error status, with the delay requested by server in <code>Retry-After</code> header if any.
+ */
+public class HttpErrorException
+    extends HttpStatusException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public HttpErrorException( int statusCode, String url, long retryAfterMillis )
+    {
+        super( "HTTP error fetching URL", statusCode, url );
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return delay requested by server before retrying, or -1 if none
+     */
+    public long getRetryAfterMillis()
+    {
+        return retryAfterMillis;
+    }
+}
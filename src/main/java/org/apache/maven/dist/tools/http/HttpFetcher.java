@@ -0,0 +1,590 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jsoup.HttpStatusException;
+
+/**
+ * Reads HTTP resources through a shared {@link HttpTransport}, following redirects and using {@link HttpCache}
+ * if configured, to revalidate cached content with conditional GET.
+ * Failures are retried according to {@link RetryPolicy}, and a host that is down fails fast thanks to its
+ * {@link CircuitBreaker}.
+ */
+public final class HttpFetcher
+{
+    public static final int DEFAULT_CONNECT_TIMEOUT = 30 * 1000;
+
+    public static final int DEFAULT_READ_TIMEOUT = 30 * 1000;
+
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+
+    private static final int MAX_REDIRECTS = 10;
+
+    private static final int CIRCUIT_BREAKER_THRESHOLD = 5;
+
+    private static final long CIRCUIT_BREAKER_COOL_DOWN_MILLIS = 60 * 1000;
+
+    private static volatile RetryPolicy retryPolicy = new RetryPolicy( 3, 1000, 30 * 1000 );
+
+    private static final Map<String, CircuitBreaker> CIRCUIT_BREAKERS = new ConcurrentHashMap<>();
+
+    private static final Map<String, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+    private static final Map<String, AdaptiveConcurrencyLimit> CONCURRENCY_LIMITS = new ConcurrentHashMap<>();
+
+    private static volatile int maxConcurrencyPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+
+    private static final SingleFlight<String, HttpResource> IN_FLIGHT = new SingleFlight<>();
+
+    private static final ThreadLocal<Boolean> DEFER_RETRIES = new ThreadLocal<>();
+
+    /**
+     * Failed attempts of deferred urls, to go on counting when retried.
+     */
+    private static final Map<String, Integer> DEFERRED_ATTEMPTS = new ConcurrentHashMap<>();
+
+    private static final int HTTP_OK = 200;
+
+    private static final int HTTP_MULTIPLE_CHOICES = 300;
+
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    private static final int HTTP_MOVED_PERMANENTLY = 301;
+
+    private static final int HTTP_PERMANENT_REDIRECT = 308;
+
+    private static final int HTTP_BAD_REQUEST = 400;
+
+    private static volatile HttpCache cache;
+
+    private static HttpTransport transport;
+
+    private static volatile RedirectCache redirectCache;
+
+    private static volatile HedgedMirrors mirrors;
+
+    private static volatile Listener listener = message -> { };
+
+    /**
+     * Receives warnings about retried requests and unavailable hosts, to be logged by the running check.
+     */
+    public interface Listener
+    {
+        void warn( String message );
+    }
+
+    private HttpFetcher()
+    {
+    }
+
+    /**
+     * Configure the listener warned by following requests.
+     *
+     * @param httpListener the listener, typically the log of the running check
+     */
+    public static void setListener( Listener httpListener )
+    {
+        listener = httpListener;
+    }
+
+    /**
+     * Configure the cache used by every following request.
+     *
+     * @param httpCache the cache, or <code>null</code> to disable caching
+     */
+    public static void setCache( HttpCache httpCache )
+    {
+        cache = httpCache;
+    }
+
+    public static HttpCache getCache()
+    {
+        return cache;
+    }
+
+    /**
+     * Configure the permanent redirects used to send requests directly to their final url.
+     *
+     * @param redirects the known redirects, or <code>null</code> to always follow redirects
+     */
+    public static void setRedirectCache( RedirectCache redirects )
+    {
+        redirectCache = redirects;
+    }
+
+    /**
+     * Configure the shared transport: connections are kept open and reused unless settings change.
+     *
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout read timeout in milliseconds
+     * @param maxConnectionsPerHost maximum number of connections kept open to one host, which is also the maximum
+     *            of the adaptive concurrency limit of each host
+     */
+    public static void configureTransport( int connectTimeout, int readTimeout, int maxConnectionsPerHost )
+    {
+        configureTransport( connectTimeout, readTimeout, maxConnectionsPerHost, false );
+    }
+
+    /**
+     * Configure the shared transport: connections are kept open and reused unless settings change.
+     *
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout read timeout in milliseconds
+     * @param maxConnectionsPerHost maximum number of connections kept open to one host, or of concurrent streams
+     *            with HTTP/2, which is also the maximum of the adaptive concurrency limit of each host
+     * @param http2 <code>true</code> to use {@link JdkHttpTransport}, negotiating HTTP/2, if available
+     */
+    public static synchronized void configureTransport( int connectTimeout, int readTimeout,
+                                                        int maxConnectionsPerHost, boolean http2 )
+    {
+        if ( maxConnectionsPerHost != maxConcurrencyPerHost )
+        {
+            maxConcurrencyPerHost = maxConnectionsPerHost;
+            CONCURRENCY_LIMITS.clear();
+        }
+        if ( http2 && JdkHttpTransport.isAvailable() )
+        {
+            if ( !( transport instanceof JdkHttpTransport )
+                || !( ( JdkHttpTransport ) transport ).hasSettings( connectTimeout, readTimeout ) )
+            {
+                setTransport( new JdkHttpTransport( connectTimeout, readTimeout ) );
+            }
+            return;
+        }
+        if ( ( transport instanceof PooledHttpTransport )
+            && ( ( PooledHttpTransport ) transport ).hasSettings( connectTimeout, readTimeout, maxConnectionsPerHost ) )
+        {
+            return;
+        }
+        setTransport( new PooledHttpTransport( connectTimeout, readTimeout, maxConnectionsPerHost ) );
+    }
+
+    /**
+     * Configure equivalent repository mirrors for hedged requests: statistics are kept unless settings change.
+     *
+     * @param baseUrls base urls of equivalent repositories, first one being the url used to build requested urls:
+     *            no hedged request if only one
+     * @param percentile percentile of observed latencies after which a request is hedged with another mirror
+     */
+    public static synchronized void configureMirrors( List<String> baseUrls, double percentile )
+    {
+        if ( baseUrls.size() < 2 )
+        {
+            mirrors = null;
+        }
+        else if ( ( mirrors == null ) || !mirrors.hasSettings( baseUrls, percentile ) )
+        {
+            mirrors = new HedgedMirrors( baseUrls, percentile );
+        }
+    }
+
+    /**
+     * @return the mirrors used for hedged requests, or <code>null</code> if none
+     */
+    public static HedgedMirrors getMirrors()
+    {
+        return mirrors;
+    }
+
+    /**
+     * Replace the shared transport, closing previous one.
+     *
+     * @param httpTransport the new transport
+     */
+    public static synchronized void setTransport( HttpTransport httpTransport )
+    {
+        if ( transport != null )
+        {
+            transport.close();
+        }
+        transport = httpTransport;
+    }
+
+    public static synchronized HttpTransport getTransport()
+    {
+        if ( transport == null )
+        {
+            transport = new PooledHttpTransport( DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT,
+                                                 DEFAULT_MAX_CONNECTIONS_PER_HOST );
+        }
+        return transport;
+    }
+
+    public static void setRetryPolicy( RetryPolicy policy )
+    {
+        retryPolicy = policy;
+    }
+
+    /**
+     * Limit the rate of requests sent to a host. An existing limiter with the same rate is kept, with its state:
+     * checks running concurrently declare the same limits.
+     *
+     * @param host the host name
+     * @param maxRequestsPerSecond maximum number of requests per second
+     */
+    public static void setRateLimit( String host, double maxRequestsPerSecond )
+    {
+        RATE_LIMITERS.compute( host, ( h, current ) -> ( ( current != null )
+            && ( current.getMaxRequestsPerSecond() == maxRequestsPerSecond ) ) ? current
+                        : new RateLimiter( h, maxRequestsPerSecond ) );
+    }
+
+    /**
+     * Remove every rate limit.
+     */
+    public static void clearRateLimits()
+    {
+        RATE_LIMITERS.clear();
+    }
+
+    /**
+     * @return rate limiters of hosts that have one
+     */
+    public static List<RateLimiter> getRateLimiters()
+    {
+        return new ArrayList<>( RATE_LIMITERS.values() );
+    }
+
+    /**
+     * Choose how current thread waits before retrying a failed request: either sleep, or throw
+     * {@link DeferredRetryException} to let the caller retry later.
+     *
+     * @param defer <code>true</code> to defer retries
+     */
+    public static void setDeferRetries( boolean defer )
+    {
+        if ( defer )
+        {
+            DEFER_RETRIES.set( Boolean.TRUE );
+        }
+        else
+        {
+            DEFER_RETRIES.remove();
+        }
+    }
+
+    /**
+     * @return circuit breakers of hosts that have been detected as down
+     */
+    public static List<CircuitBreaker> getHostOutages()
+    {
+        List<CircuitBreaker> outages = new ArrayList<>();
+        for ( CircuitBreaker breaker : CIRCUIT_BREAKERS.values() )
+        {
+            if ( breaker.getOutages() > 0 )
+            {
+                outages.add( breaker );
+            }
+        }
+        return outages;
+    }
+
+    /**
+     * @return adaptive concurrency limits of hosts that received requests
+     */
+    public static List<AdaptiveConcurrencyLimit> getConcurrencyLimits()
+    {
+        return new ArrayList<>( CONCURRENCY_LIMITS.values() );
+    }
+
+    /**
+     * @return number of requests that shared the in-flight download of the same url
+     */
+    public static int getCoalescedRequests()
+    {
+        return IN_FLIGHT.getCoalesced();
+    }
+
+    /**
+     * Read a resource, retrying in case of transient failure. Each request waits for the rate limit of its host.
+     * Concurrent requests for the same url share one download.
+     *
+     * @param url the url to read
+     * @return the resource content
+     * @throws HttpStatusException if HTTP response is not successful
+     * @throws HostUnavailableException if the host is considered down
+     * @throws DeferredRetryException if the request failed but should be retried later
+     * @throws IOException if an I/O error occurs
+     */
+    public static HttpResource get( String url )
+        throws IOException
+    {
+        while ( true )
+        {
+            try
+            {
+                return IN_FLIGHT.execute( url, () -> getWithRetries( url ) );
+            }
+            catch ( DeferredRetryException dre )
+            {
+                if ( DEFER_RETRIES.get() != null )
+                {
+                    throw dre;
+                }
+                // shared download was deferred by a caller that defers retries, but this one waits
+                sleep( dre.getDelayMillis() );
+            }
+        }
+    }
+
+    private static HttpResource getWithRetries( String url )
+        throws IOException
+    {
+        HttpCache httpCache = cache;
+        HttpResource cached = null;
+        if ( httpCache != null )
+        {
+            HttpResource validated = httpCache.getValidated( url );
+            if ( validated != null )
+            {
+                return validated;
+            }
+            cached = httpCache.load( url );
+        }
+
+        String host = new URL( url ).getHost();
+        CircuitBreaker breaker = CIRCUIT_BREAKERS.computeIfAbsent(
+            host, h -> new CircuitBreaker( h, CIRCUIT_BREAKER_THRESHOLD, CIRCUIT_BREAKER_COOL_DOWN_MILLIS ) );
+        RetryPolicy policy = retryPolicy;
+
+        Integer deferredAttempts = DEFERRED_ATTEMPTS.remove( url );
+        for ( int attempt = ( deferredAttempts == null ) ? 1 : deferredAttempts + 1;; attempt++ )
+        {
+            if ( !breaker.allowRequest() )
+            {
+                throw new HostUnavailableException( host, url );
+            }
+
+            try
+            {
+                HttpResource resource = fetch( url, httpCache, cached );
+                breaker.recordSuccess();
+                return resource;
+            }
+            catch ( IOException ioe )
+            {
+                if ( !policy.isHostFailure( ioe ) )
+                {
+                    // host is answering, even if asking to come back later (408, 429)
+                    breaker.recordSuccess();
+                }
+                else if ( breaker.recordFailure() )
+                {
+                    listener.warn( "Host " + host + " is down, following requests will fail fast: "
+                        + ioe.getClass() + " " + ioe.getMessage() );
+                }
+
+                long delay = breaker.isOpen() ? -1 : policy.getRetryDelayMillis( attempt, ioe );
+                if ( delay < 0 )
+                {
+                    throw ioe;
+                }
+
+                listener.warn( "IOException try " + attempt + " while reading " + url + ": " + ioe.getClass()
+                    + " " + ioe.getMessage() + ", retrying in " + delay + " ms" );
+                if ( DEFER_RETRIES.get() != null )
+                {
+                    DEFERRED_ATTEMPTS.put( url, attempt );
+                    throw new DeferredRetryException( url, delay, ioe );
+                }
+                sleep( delay );
+            }
+        }
+    }
+
+    private static void sleep( long millis )
+        throws InterruptedIOException
+    {
+        try
+        {
+            Thread.sleep( millis );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "interrupted while waiting to retry" );
+        }
+    }
+
+    /**
+     * Send a request within the adaptive concurrency limit and the rate limit of its host.
+     */
+    private static TransportResponse send( HttpTransport httpTransport, String url, Map<String, String> headers )
+        throws IOException
+    {
+        String host = new URL( url ).getHost();
+        // limits are kept for the build: warn the listener of the check running when the host is overloaded
+        AdaptiveConcurrencyLimit concurrencyLimit = CONCURRENCY_LIMITS.computeIfAbsent(
+            host, h -> new AdaptiveConcurrencyLimit( h, DEFAULT_MAX_CONNECTIONS_PER_HOST, maxConcurrencyPerHost,
+                                                     message -> listener.warn( message ) ) );
+
+        concurrencyLimit.acquire();
+        RateLimiter rateLimiter = RATE_LIMITERS.get( host );
+        if ( rateLimiter != null )
+        {
+            try
+            {
+                rateLimiter.acquire();
+            }
+            catch ( InterruptedIOException iioe )
+            {
+                concurrencyLimit.cancel();
+                throw iioe;
+            }
+        }
+        long start = System.nanoTime();
+        boolean overload = false;
+        try
+        {
+            TransportResponse response = httpTransport.get( url, headers );
+            overload = RetryPolicy.isOverloadStatus( response.getStatus() );
+            return response;
+        }
+        catch ( IOException ioe )
+        {
+            overload = RetryPolicy.isOverload( ioe );
+            throw ioe;
+        }
+        finally
+        {
+            concurrencyLimit.release( System.nanoTime() - start, overload );
+        }
+    }
+
+    private static HttpResource fetch( String url, HttpCache httpCache, HttpResource cached )
+        throws IOException
+    {
+        HedgedMirrors hedging = mirrors;
+        HttpResource resource;
+        if ( ( hedging != null ) && hedging.isMirrored( url ) )
+        {
+            resource =
+                hedging.fetch( url, requested -> fetchFrom( url, requested, httpCache, cached ), getTransport() );
+        }
+        else
+        {
+            resource = fetchFrom( url, url, httpCache, cached );
+        }
+        if ( ( httpCache != null ) && ( resource != cached ) )
+        {
+            httpCache.store( url, resource );
+        }
+        return resource;
+    }
+
+    /**
+     * Fetch an url from a requested url, which is the url itself or its equivalent in a mirror, starting from the
+     * final url of its known permanent redirects.
+     */
+    private static HttpResource fetchFrom( String url, String requested, HttpCache httpCache, HttpResource cached )
+        throws IOException
+    {
+        RedirectCache redirects = redirectCache;
+        String location = ( redirects == null ) ? requested : redirects.resolve( requested );
+        if ( !location.equals( requested ) )
+        {
+            try
+            {
+                HttpResource resource = fetch( url, location, httpCache, cached );
+                redirects.resolved( requested );
+                return resource;
+            }
+            catch ( HttpErrorException hee )
+            {
+                if ( RetryPolicy.isOverloadStatus( hee.getStatusCode() ) )
+                {
+                    throw hee;
+                }
+                // the redirect is not permanent any more: follow it again from the requested url
+                redirects.forget( requested );
+            }
+        }
+        return fetch( url, requested, httpCache, cached );
+    }
+
+    private static HttpResource fetch( String url, String start, HttpCache httpCache, HttpResource cached )
+        throws IOException
+    {
+        Map<String, String> headers = new HashMap<>();
+        if ( cached != null )
+        {
+            if ( cached.getEtag() != null )
+            {
+                headers.put( "If-None-Match", cached.getEtag() );
+            }
+            if ( cached.getLastModified() != null )
+            {
+                headers.put( "If-Modified-Since", cached.getLastModified() );
+            }
+        }
+
+        HttpTransport httpTransport = getTransport();
+        RedirectCache known = redirectCache;
+        String location = start;
+        for ( int redirects = 0; redirects <= MAX_REDIRECTS; redirects++ )
+        {
+            TransportResponse response = send( httpTransport, location, headers );
+            int status = response.getStatus();
+
+            if ( ( status == HTTP_NOT_MODIFIED ) && ( cached != null ) )
+            {
+                httpCache.revalidated( url );
+                return cached;
+            }
+
+            if ( ( status >= HTTP_MULTIPLE_CHOICES ) && ( status < HTTP_BAD_REQUEST )
+                && ( response.getHeader( "Location" ) != null ) )
+            {
+                String target = new URL( new URL( location ), response.getHeader( "Location" ) ).toString();
+                if ( ( known != null ) && isPermanentRedirect( status ) )
+                {
+                    known.record( location, target );
+                }
+                location = target;
+                continue;
+            }
+
+            if ( ( status < HTTP_OK ) || ( status >= HTTP_MULTIPLE_CHOICES ) )
+            {
+                throw new HttpErrorException( status, location,
+                                              RetryPolicy.parseRetryAfter( response.getHeader( "Retry-After" ) ) );
+            }
+
+            return new HttpResource( location, response.getHeader( "Content-Type" ), response.getHeader( "ETag" ),
+                                     response.getHeader( "Last-Modified" ), response.getBody() );
+        }
+
+        throw new IOException( "Too many redirects reading " + url );
+    }
+
+    private static boolean isPermanentRedirect( int status )
+    {
+        return ( status == HTTP_MOVED_PERMANENTLY ) || ( status == HTTP_PERMANENT_REDIRECT );
+    }
+}
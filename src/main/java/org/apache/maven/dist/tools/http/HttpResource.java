@@ -0,0 +1,106 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Content of an HTTP resource, either freshly downloaded or read from {@link HttpCache}.
+ */
+public class HttpResource
+{
+    private final String url;
+
+    private final String contentType;
+
+    private final String etag;
+
+    private final String lastModified;
+
+    private final byte[] body;
+
+    public HttpResource( String url, String contentType, String etag, String lastModified, byte[] body )
+    {
+        this.url = url;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.body = body;
+    }
+
+    /**
+     * @return the url the content was read from, after redirects
+     */
+    public String getUrl()
+    {
+        return url;
+    }
+
+    public String getContentType()
+    {
+        return contentType;
+    }
+
+    /**
+     * @return the charset declared in <code>Content-Type</code> header, or <code>null</code>
+     */
+    public String getCharset()
+    {
+        if ( contentType != null )
+        {
+            for ( String param : contentType.split( ";" ) )
+            {
+                param = param.trim();
+                if ( param.toLowerCase().startsWith( "charset=" ) )
+                {
+                    return param.substring( "charset=".length() ).replace( "\"", "" );
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the <code>ETag</code> header value, or <code>null</code>
+     */
+    public String getEtag()
+    {
+        return etag;
+    }
+
+    /**
+     * @return the <code>Last-Modified</code> header value, or <code>null</code>
+     */
+    public String getLastModified()
+    {
+        return lastModified;
+    }
+
+    public byte[] getBody()
+    {
+        return body;
+    }
+
+    public InputStream openStream()
+    {
+        return new ByteArrayInputStream( body );
+    }
+}
@@ -0,0 +1,55 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Transport used by {@link HttpFetcher} to send HTTP requests.
+ */
+public interface HttpTransport
+{
+    /**
+     * Send a GET request, without following redirects.
+     *
+     * @param url the url to get
+     * @param headers additional request headers
+     * @return the response, with its body fully read
+     * @throws IOException if an I/O error occurs
+     */
+    TransportResponse get( String url, Map<String, String> headers )
+        throws IOException;
+
+    /**
+     * Abort the request a thread is sending, if any: used to cancel a request that is not needed any more.
+     *
+     * @param thread the thread sending the request
+     */
+    default void abort( Thread thread )
+    {
+        // requests are not abortable: the answer is ignored
+    }
+
+    /**
+     * Release connections.
+     */
+    void close();
+}
@@ -0,0 +1,355 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.conn.ConnectTimeoutException;
+
+/**
+ * Transport using the JDK 11+ <code>java.net.http.HttpClient</code>, accessed by reflection from code compiled for
+ * Java 8: HTTP/2 is negotiated with each host, many concurrent requests sharing one connection as multiplexed streams,
+ * with fallback to HTTP/1.1 for hosts that do not support it.
+ * The read timeout applies to each whole response.
+ */
+public class JdkHttpTransport
+    implements HttpTransport
+{
+    private static final Api API = Api.lookup();
+
+    private final int connectTimeout;
+
+    private final int readTimeout;
+
+    private final Object client;
+
+    private final Object bodyHandler;
+
+    private final Map<Thread, CompletableFuture<?>> running = new ConcurrentHashMap<>();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final Map<String, AtomicInteger> versions = new ConcurrentHashMap<>();
+
+    /**
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout read timeout in milliseconds
+     */
+    public JdkHttpTransport( int connectTimeout, int readTimeout )
+    {
+        if ( !isAvailable() )
+        {
+            throw new IllegalStateException( "java.net.http.HttpClient requires JDK 11+, running on Java "
+                + System.getProperty( "java.version" ) );
+        }
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        try
+        {
+            Object builder = API.newClientBuilder.invoke( null );
+            API.clientVersion.invoke( builder, API.http2 );
+            API.followRedirects.invoke( builder, API.redirectNever );
+            API.connectTimeout.invoke( builder, Duration.ofMillis( connectTimeout ) );
+            this.client = API.buildClient.invoke( builder );
+            this.bodyHandler = API.ofByteArray.invoke( null );
+        }
+        catch ( ReflectiveOperationException roe )
+        {
+            throw new IllegalStateException( "cannot create java.net.http.HttpClient", roe );
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the running JDK provides <code>java.net.http.HttpClient</code>
+     */
+    public static boolean isAvailable()
+    {
+        return API != null;
+    }
+
+    /**
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout read timeout in milliseconds
+     * @return <code>true</code> if this transport has been created with these settings
+     */
+    public boolean hasSettings( int connectTimeout, int readTimeout )
+    {
+        return ( this.connectTimeout == connectTimeout ) && ( this.readTimeout == readTimeout );
+    }
+
+    @Override
+    public TransportResponse get( String url, Map<String, String> headers )
+        throws IOException
+    {
+        requests.incrementAndGet();
+
+        CompletableFuture<?> future;
+        try
+        {
+            Object builder = API.newRequestBuilder.invoke( null, new URI( url ) );
+            API.requestTimeout.invoke( builder, Duration.ofMillis( readTimeout ) );
+            for ( Map.Entry<String, String> header : headers.entrySet() )
+            {
+                API.requestHeader.invoke( builder, header.getKey(), header.getValue() );
+            }
+            Object request = API.buildRequest.invoke( builder );
+            future = ( CompletableFuture<?> ) API.sendAsync.invoke( client, request, bodyHandler );
+        }
+        catch ( URISyntaxException use )
+        {
+            throw new IOException( "invalid url " + url, use );
+        }
+        catch ( InvocationTargetException ite )
+        {
+            throw new IOException( "cannot send request to " + url, ite.getCause() );
+        }
+        catch ( ReflectiveOperationException roe )
+        {
+            throw new IllegalStateException( roe );
+        }
+
+        running.put( Thread.currentThread(), future );
+        try
+        {
+            return toTransportResponse( future.get() );
+        }
+        catch ( InterruptedException ie )
+        {
+            future.cancel( true );
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "interrupted while reading " + url );
+        }
+        catch ( CancellationException ce )
+        {
+            throw new InterruptedIOException( "aborted request of " + url );
+        }
+        catch ( ExecutionException ee )
+        {
+            throw toIOException( url, ee.getCause() );
+        }
+        finally
+        {
+            running.remove( Thread.currentThread() );
+        }
+    }
+
+    private TransportResponse toTransportResponse( Object response )
+        throws IOException
+    {
+        try
+        {
+            int status = ( Integer ) API.statusCode.invoke( response );
+            Object version = API.responseVersion.invoke( response );
+            versions.computeIfAbsent( String.valueOf( version ), v -> new AtomicInteger() ).incrementAndGet();
+
+            Map<String, String> responseHeaders = new HashMap<>();
+            @SuppressWarnings( "unchecked" )
+            Map<String, List<String>> headers =
+                ( Map<String, List<String>> ) API.headersMap.invoke( API.responseHeaders.invoke( response ) );
+            for ( Map.Entry<String, List<String>> header : headers.entrySet() )
+            {
+                if ( !header.getValue().isEmpty() )
+                {
+                    responseHeaders.put( header.getKey(), header.getValue().get( 0 ) );
+                }
+            }
+            return new TransportResponse( status, responseHeaders, ( byte[] ) API.body.invoke( response ) );
+        }
+        catch ( ReflectiveOperationException roe )
+        {
+            throw new IOException( "cannot read response", roe );
+        }
+    }
+
+    /**
+     * Map JDK client failures to the exceptions of Apache HttpClient known by {@link RetryPolicy}.
+     */
+    private static IOException toIOException( String url, Throwable cause )
+    {
+        if ( API.connectTimeoutException.isInstance( cause ) )
+        {
+            return new ConnectTimeoutException( "connect timed out reading " + url );
+        }
+        if ( API.timeoutException.isInstance( cause ) )
+        {
+            return new SocketTimeoutException( "read timed out reading " + url );
+        }
+        if ( cause instanceof IOException )
+        {
+            return ( IOException ) cause;
+        }
+        return new IOException( "failed reading " + url, cause );
+    }
+
+    @Override
+    public void abort( Thread thread )
+    {
+        CompletableFuture<?> future = running.get( thread );
+        if ( future != null )
+        {
+            future.cancel( true );
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if ( API.shutdownNow != null )
+        {
+            try
+            {
+                API.shutdownNow.invoke( client );
+            }
+            catch ( ReflectiveOperationException roe )
+            {
+                // connections are released when the client is garbage collected
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HTTP transport (JDK HttpClient): " + requests + " requests, responses by protocol: " + versions;
+    }
+
+    /**
+     * Reflective access to <code>java.net.http</code> API.
+     */
+    private static final class Api
+    {
+        private Method newClientBuilder;
+
+        private Method clientVersion;
+
+        private Method followRedirects;
+
+        private Method connectTimeout;
+
+        private Method buildClient;
+
+        private Method sendAsync;
+
+        private Method shutdownNow;
+
+        private Method newRequestBuilder;
+
+        private Method requestTimeout;
+
+        private Method requestHeader;
+
+        private Method buildRequest;
+
+        private Method ofByteArray;
+
+        private Method statusCode;
+
+        private Method responseVersion;
+
+        private Method responseHeaders;
+
+        private Method headersMap;
+
+        private Method body;
+
+        private Object http2;
+
+        private Object redirectNever;
+
+        private Class<?> timeoutException;
+
+        private Class<?> connectTimeoutException;
+
+        static Api lookup()
+        {
+            try
+            {
+                Api api = new Api();
+                Class<?> httpClient = Class.forName( "java.net.http.HttpClient" );
+                Class<?> clientBuilder = Class.forName( "java.net.http.HttpClient$Builder" );
+                Class<?> version = Class.forName( "java.net.http.HttpClient$Version" );
+                Class<?> redirect = Class.forName( "java.net.http.HttpClient$Redirect" );
+                Class<?> httpRequest = Class.forName( "java.net.http.HttpRequest" );
+                Class<?> requestBuilder = Class.forName( "java.net.http.HttpRequest$Builder" );
+                Class<?> httpResponse = Class.forName( "java.net.http.HttpResponse" );
+                Class<?> bodyHandler = Class.forName( "java.net.http.HttpResponse$BodyHandler" );
+                Class<?> bodyHandlers = Class.forName( "java.net.http.HttpResponse$BodyHandlers" );
+                Class<?> httpHeaders = Class.forName( "java.net.http.HttpHeaders" );
+
+                api.newClientBuilder = httpClient.getMethod( "newBuilder" );
+                api.clientVersion = clientBuilder.getMethod( "version", version );
+                api.followRedirects = clientBuilder.getMethod( "followRedirects", redirect );
+                api.connectTimeout = clientBuilder.getMethod( "connectTimeout", Duration.class );
+                api.buildClient = clientBuilder.getMethod( "build" );
+                api.sendAsync = httpClient.getMethod( "sendAsync", httpRequest, bodyHandler );
+                api.shutdownNow = lookupOptional( httpClient, "shutdownNow" );
+                api.newRequestBuilder = httpRequest.getMethod( "newBuilder", URI.class );
+                api.requestTimeout = requestBuilder.getMethod( "timeout", Duration.class );
+                api.requestHeader = requestBuilder.getMethod( "header", String.class, String.class );
+                api.buildRequest = requestBuilder.getMethod( "build" );
+                api.ofByteArray = bodyHandlers.getMethod( "ofByteArray" );
+                api.statusCode = httpResponse.getMethod( "statusCode" );
+                api.responseVersion = httpResponse.getMethod( "version" );
+                api.responseHeaders = httpResponse.getMethod( "headers" );
+                api.headersMap = httpHeaders.getMethod( "map" );
+                api.body = httpResponse.getMethod( "body" );
+                api.http2 = version.getField( "HTTP_2" ).get( null );
+                api.redirectNever = redirect.getField( "NEVER" ).get( null );
+                api.timeoutException = Class.forName( "java.net.http.HttpTimeoutException" );
+                api.connectTimeoutException = Class.forName( "java.net.http.HttpConnectTimeoutException" );
+                return api;
+            }
+            catch ( ReflectiveOperationException roe )
+            {
+                // JDK < 11
+                return null;
+            }
+        }
+
+        private static Method lookupOptional( Class<?> type, String name )
+        {
+            try
+            {
+                return type.getMethod( name );
+            }
+            catch ( NoSuchMethodException nsme )
+            {
+                // JDK < 21
+                return null;
+            }
+        }
+    }
+}
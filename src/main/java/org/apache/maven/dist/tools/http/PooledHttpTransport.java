@@ -0,0 +1,261 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.params.HttpClientParams;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DecompressingHttpClient;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * HTTP/1.1 transport based on Apache HttpClient, with per-host connection pool, keep-alive and gzip content encoding.
+ * Counts opened connections (and TLS handshakes) per host, to check that connections are reused.
+ * Requests wait for a free connection on fair semaphores before leasing it from the pool: the pool waits inside a
+ * <code>synchronized</code> block, which would pin the carrier of a virtual thread.
+ */
+public class PooledHttpTransport
+    implements HttpTransport
+{
+    private final int connectTimeout;
+
+    private final int readTimeout;
+
+    private final int maxConnectionsPerHost;
+
+    private final PoolingClientConnectionManager connectionManager;
+
+    private final HttpClient client;
+
+    private final Semaphore totalPermits;
+
+    private final Map<HttpHost, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private final Map<Thread, HttpGet> running = new ConcurrentHashMap<>();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final Map<String, AtomicInteger> connections = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> handshakes = new ConcurrentHashMap<>();
+
+    /**
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout read timeout in milliseconds
+     * @param maxConnectionsPerHost maximum number of connections kept open to one host
+     */
+    public PooledHttpTransport( int connectTimeout, int readTimeout, int maxConnectionsPerHost )
+    {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+
+        connectionManager = new PoolingClientConnectionManager( SchemeRegistryFactory.createDefault() )
+        {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator( SchemeRegistry schreg )
+            {
+                return new CountingConnectionOperator( schreg );
+            }
+        };
+        connectionManager.setDefaultMaxPerRoute( maxConnectionsPerHost );
+        connectionManager.setMaxTotal( 4 * maxConnectionsPerHost );
+        totalPermits = new Semaphore( 4 * maxConnectionsPerHost, true );
+
+        DefaultHttpClient httpClient = new DefaultHttpClient( connectionManager );
+        HttpParams params = httpClient.getParams();
+        HttpConnectionParams.setConnectionTimeout( params, connectTimeout );
+        HttpConnectionParams.setSoTimeout( params, readTimeout );
+        HttpClientParams.setRedirecting( params, false );
+
+        client = new DecompressingHttpClient( httpClient );
+    }
+
+    /**
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout read timeout in milliseconds
+     * @param maxConnectionsPerHost maximum number of connections kept open to one host
+     * @return <code>true</code> if this transport has been created with these settings
+     */
+    public boolean hasSettings( int connectTimeout, int readTimeout, int maxConnectionsPerHost )
+    {
+        return ( this.connectTimeout == connectTimeout ) && ( this.readTimeout == readTimeout )
+            && ( this.maxConnectionsPerHost == maxConnectionsPerHost );
+    }
+
+    @Override
+    public TransportResponse get( String url, Map<String, String> headers )
+        throws IOException
+    {
+        requests.incrementAndGet();
+
+        HttpGet request = new HttpGet( url );
+        for ( Map.Entry<String, String> header : headers.entrySet() )
+        {
+            request.setHeader( header.getKey(), header.getValue() );
+        }
+
+        Semaphore permits =
+            hostPermits.computeIfAbsent( URIUtils.extractHost( request.getURI() ),
+                                         h -> new Semaphore( maxConnectionsPerHost, true ) );
+        try
+        {
+            permits.acquire();
+        }
+        catch ( InterruptedException ie )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "interrupted while waiting for a connection to " + url );
+        }
+        try
+        {
+            totalPermits.acquire();
+        }
+        catch ( InterruptedException ie )
+        {
+            permits.release();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "interrupted while waiting for a connection to " + url );
+        }
+
+        HttpEntity entity = null;
+        running.put( Thread.currentThread(), request );
+        try
+        {
+            if ( Thread.currentThread().isInterrupted() )
+            {
+                // cancelled while waiting for a connection
+                request.abort();
+            }
+            HttpResponse response = client.execute( request );
+            entity = response.getEntity();
+
+            Map<String, String> responseHeaders = new HashMap<>();
+            for ( Header header : response.getAllHeaders() )
+            {
+                responseHeaders.put( header.getName(), header.getValue() );
+            }
+
+            // always read body fully, for the connection to be reused
+            byte[] body = ( entity == null ) ? new byte[0] : EntityUtils.toByteArray( entity );
+
+            return new TransportResponse( response.getStatusLine().getStatusCode(), responseHeaders, body );
+        }
+        finally
+        {
+            try
+            {
+                EntityUtils.consume( entity );
+            }
+            finally
+            {
+                running.remove( Thread.currentThread() );
+                totalPermits.release();
+                permits.release();
+            }
+        }
+    }
+
+    @Override
+    public void abort( Thread thread )
+    {
+        HttpGet request = running.get( thread );
+        if ( request != null )
+        {
+            request.abort();
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        connectionManager.shutdown();
+    }
+
+    @Override
+    public String toString()
+    {
+        int opened = 0;
+        for ( AtomicInteger count : connections.values() )
+        {
+            opened += count.get();
+        }
+        int tls = 0;
+        for ( AtomicInteger count : handshakes.values() )
+        {
+            tls += count.get();
+        }
+        return "HTTP transport: " + requests + " requests, " + opened + " connections opened (" + tls
+            + " TLS handshakes), " + ( requests.get() - opened ) + " connection reuses; connections by host: "
+            + connections;
+    }
+
+    private static void increment( Map<String, AtomicInteger> counters, String key )
+    {
+        counters.computeIfAbsent( key, k -> new AtomicInteger() ).incrementAndGet();
+    }
+
+    private class CountingConnectionOperator
+        extends DefaultClientConnectionOperator
+    {
+        CountingConnectionOperator( SchemeRegistry schemes )
+        {
+            super( schemes );
+        }
+
+        @Override
+        public void openConnection( OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                    HttpContext context, HttpParams params )
+            throws IOException
+        {
+            super.openConnection( conn, target, local, context, params );
+
+            increment( connections, target.getHostName() );
+            if ( "https".equals( target.getSchemeName() ) )
+            {
+                increment( handshakes, target.getHostName() );
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host token bucket: allows bursts of up to one second worth of requests, then spaces requests to respect the
+ * configured maximum rate. Waiting happens outside any lock.
+ */
+public class RateLimiter
+{
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos( 1 );
+
+    private final String host;
+
+    private final double maxRequestsPerSecond;
+
+    private final long intervalNanos;
+
+    private final long burstToleranceNanos;
+
+    /**
+     * Time at which the bucket would be empty if requests had arrived exactly at the maximum rate.
+     */
+    private long theoreticalArrivalNanos;
+
+    private int requests;
+
+    private int delayed;
+
+    private long waitedNanos;
+
+    /**
+     * @param host the host
+     * @param maxRequestsPerSecond maximum number of requests per second sent to the host
+     */
+    public RateLimiter( String host, double maxRequestsPerSecond )
+    {
+        if ( maxRequestsPerSecond <= 0 )
+        {
+            throw new IllegalArgumentException( "maximum requests per second must be positive: "
+                + maxRequestsPerSecond );
+        }
+        this.host = host;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.intervalNanos = ( long ) ( NANOS_PER_SECOND / maxRequestsPerSecond );
+        int burst = Math.max( 1, (int) maxRequestsPerSecond );
+        this.burstToleranceNanos = ( burst - 1 ) * intervalNanos;
+        this.theoreticalArrivalNanos = System.nanoTime();
+    }
+
+    public String getHost()
+    {
+        return host;
+    }
+
+    /**
+     * @return maximum number of requests per second
+     */
+    public double getMaxRequestsPerSecond()
+    {
+        return maxRequestsPerSecond;
+    }
+
+    /**
+     * Wait until a request can be sent.
+     *
+     * @throws InterruptedIOException if interrupted while waiting
+     */
+    public void acquire()
+        throws InterruptedIOException
+    {
+        long waitNanos = reserve( System.nanoTime() );
+        if ( waitNanos > 0 )
+        {
+            try
+            {
+                TimeUnit.NANOSECONDS.sleep( waitNanos );
+            }
+            catch ( InterruptedException ie )
+            {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException( "interrupted while waiting for rate limit of " + host );
+            }
+        }
+    }
+
+    /**
+     * Reserve a slot for a request.
+     *
+     * @param nowNanos current time
+     * @return time to wait before sending the request, in nanoseconds
+     */
+    synchronized long reserve( long nowNanos )
+    {
+        long scheduled = Math.max( nowNanos, theoreticalArrivalNanos - burstToleranceNanos );
+        theoreticalArrivalNanos = Math.max( theoreticalArrivalNanos, nowNanos ) + intervalNanos;
+
+        long waitNanos = scheduled - nowNanos;
+        requests++;
+        if ( waitNanos > 0 )
+        {
+            delayed++;
+            waitedNanos += waitNanos;
+        }
+        return waitNanos;
+    }
+
+    /**
+     * @return number of requests that went through the limiter
+     */
+    public synchronized int getRequests()
+    {
+        return requests;
+    }
+
+    /**
+     * @return number of requests that had to wait
+     */
+    public synchronized int getDelayed()
+    {
+        return delayed;
+    }
+
+    /**
+     * @return total time spent waiting, in milliseconds
+     */
+    public synchronized long getWaitedMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis( waitedNanos );
+    }
+
+    @Override
+    public String toString()
+    {
+        String rate = ( maxRequestsPerSecond == Math.rint( maxRequestsPerSecond ) )
+                        ? String.valueOf( ( long ) maxRequestsPerSecond ) : String.valueOf( maxRequestsPerSecond );
+        return String.format( "%s max %s requests/s: %d requests, %d delayed, waited %.1f s", host, rate,
+                              getRequests(), getDelayed(), getWaitedMillis() / 1000. );
+    }
+}
@@ -0,0 +1,169 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Permanent redirects learned from responses, like <code>http</code> to <code>https</code> or trailing slash
+ * redirects: later requests are sent directly to the final url, saving a round trip per redirect. Kept between
+ * runs as a properties file.
+ */
+public class RedirectCache
+{
+    private static final int MAX_HOPS = 10;
+
+    private final File file;
+
+    private final Map<String, String> redirects = new ConcurrentHashMap<>();
+
+    private final AtomicInteger learned = new AtomicInteger();
+
+    private final AtomicInteger forgotten = new AtomicInteger();
+
+    private final AtomicInteger saved = new AtomicInteger();
+
+    public RedirectCache( File file )
+    {
+        this.file = file;
+    }
+
+    public void load()
+        throws IOException
+    {
+        if ( !file.isFile() )
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        try ( InputStream in = Files.newInputStream( file.toPath() ) )
+        {
+            properties.load( in );
+        }
+        for ( String url : properties.stringPropertyNames() )
+        {
+            redirects.put( url, properties.getProperty( url ) );
+        }
+    }
+
+    public synchronized void save()
+        throws IOException
+    {
+        if ( ( learned.get() == 0 ) && ( forgotten.get() == 0 ) )
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.putAll( redirects );
+
+        file.getParentFile().mkdirs();
+        File tmp = new File( file.getPath() + ".tmp" );
+        try ( OutputStream out = Files.newOutputStream( tmp.toPath() ) )
+        {
+            properties.store( out, "dist-tool permanent redirects" );
+        }
+        Files.move( tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    }
+
+    /**
+     * Get the url to request instead of an url that is known to be permanently redirected.
+     *
+     * @param url the requested url
+     * @return the final url of known redirects, or the url itself
+     */
+    String resolve( String url )
+    {
+        String location = url;
+        String target;
+        for ( int hops = 0; ( hops < MAX_HOPS ) && ( ( target = redirects.get( location ) ) != null ); hops++ )
+        {
+            location = target;
+        }
+        return location;
+    }
+
+    /**
+     * Count the redirects that were not followed, once the final url of an url has been read successfully.
+     *
+     * @param url the requested url
+     */
+    void resolved( String url )
+    {
+        String location = url;
+        int hops = 0;
+        for ( String target; ( hops < MAX_HOPS ) && ( ( target = redirects.get( location ) ) != null ); hops++ )
+        {
+            location = target;
+        }
+        saved.addAndGet( hops );
+    }
+
+    /**
+     * Record a permanent redirect.
+     *
+     * @param url the requested url
+     * @param location the url it is redirected to
+     */
+    void record( String url, String location )
+    {
+        if ( !location.equals( redirects.put( url, location ) ) )
+        {
+            learned.incrementAndGet();
+        }
+    }
+
+    /**
+     * Forget known redirects of an url, which final url failed.
+     *
+     * @param url the requested url
+     */
+    void forget( String url )
+    {
+        if ( redirects.remove( url ) != null )
+        {
+            forgotten.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return number of redirects not followed again, thanks to known redirects
+     */
+    public int getSaved()
+    {
+        return saved.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Redirects " + file + ": " + redirects.size() + " known, " + saved.get() + " round trips saved, "
+            + learned.get() + " learned, " + forgotten.get() + " forgotten";
+    }
+}
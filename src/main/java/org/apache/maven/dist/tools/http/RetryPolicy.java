@@ -0,0 +1,179 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+
+/**
+ * Decides which failures are worth retrying, and how long to wait before: exponential backoff with jitter, or
+ * server's <code>Retry-After</code>.
+ * Client errors (4xx) are never retried, except 408 and 429; server errors (5xx), timeouts and connection resets
+ * are.
+ */
+public class RetryPolicy
+{
+    private static final int HTTP_REQUEST_TIMEOUT = 408;
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private static final int HTTP_INTERNAL_ERROR = 500;
+
+    private final int maxAttempts;
+
+    private final long baseDelayMillis;
+
+    private final long maxDelayMillis;
+
+    /**
+     * @param maxAttempts maximum number of attempts, including the first one
+     * @param baseDelayMillis delay before first retry, doubled on each following retry
+     * @param maxDelayMillis maximum delay before a retry: a longer <code>Retry-After</code> is shortened to it
+     */
+    public RetryPolicy( int maxAttempts, long baseDelayMillis, long maxDelayMillis )
+    {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    public int getMaxAttempts()
+    {
+        return maxAttempts;
+    }
+
+    /**
+     * @param e the failure
+     * @return <code>true</code> if the request may succeed if retried
+     */
+    public boolean isRetryable( IOException e )
+    {
+        if ( e instanceof HttpErrorException )
+        {
+            int status = ( ( HttpErrorException ) e ).getStatusCode();
+            return ( status >= HTTP_INTERNAL_ERROR ) || ( status == HTTP_REQUEST_TIMEOUT )
+                || ( status == HTTP_TOO_MANY_REQUESTS );
+        }
+        return ( e instanceof SocketException ) || ( e instanceof SocketTimeoutException )
+            || ( e instanceof NoHttpResponseException ) || ( e instanceof ConnectTimeoutException );
+    }
+
+    /**
+     * @param e the failure
+     * @return <code>true</code> if the failure shows that the host is not working properly
+     */
+    public boolean isHostFailure( IOException e )
+    {
+        if ( e instanceof HttpErrorException )
+        {
+            return ( ( HttpErrorException ) e ).getStatusCode() >= HTTP_INTERNAL_ERROR;
+        }
+        return !( e instanceof HostUnavailableException );
+    }
+
+    /**
+     * @param e the failure
+     * @return <code>true</code> if the failure shows that the host is overloaded: timeout, 429 or 5xx
+     */
+    public static boolean isOverload( IOException e )
+    {
+        if ( e instanceof HttpErrorException )
+        {
+            return isOverloadStatus( ( ( HttpErrorException ) e ).getStatusCode() );
+        }
+        return ( e instanceof SocketTimeoutException ) || ( e instanceof ConnectTimeoutException );
+    }
+
+    /**
+     * @param status HTTP response status
+     * @return <code>true</code> if the status shows that the host is overloaded: 429 or 5xx
+     */
+    public static boolean isOverloadStatus( int status )
+    {
+        return ( status == HTTP_TOO_MANY_REQUESTS ) || ( status >= HTTP_INTERNAL_ERROR );
+    }
+
+    /**
+     * Compute the delay before next attempt.
+     *
+     * @param attempt number of the attempt that just failed, starting at 1
+     * @param e the failure
+     * @return delay in milliseconds, or -1 if the request must not be retried
+     */
+    public long getRetryDelayMillis( int attempt, IOException e )
+    {
+        if ( ( attempt >= maxAttempts ) || !isRetryable( e ) )
+        {
+            return -1;
+        }
+
+        if ( e instanceof HttpErrorException )
+        {
+            long retryAfter = ( ( HttpErrorException ) e ).getRetryAfterMillis();
+            if ( retryAfter >= 0 )
+            {
+                return Math.min( retryAfter, maxDelayMillis );
+            }
+        }
+
+        // exponential backoff with "equal jitter": half fixed, half random
+        long delay = Math.min( maxDelayMillis, baseDelayMillis << Math.min( attempt - 1, 30 ) );
+        return delay / 2 + ThreadLocalRandom.current().nextLong( delay / 2 + 1 );
+    }
+
+    /**
+     * Parse <code>Retry-After</code> header value, either delay-seconds or HTTP-date.
+     *
+     * @param value the header value, can be <code>null</code>
+     * @return the delay in milliseconds, or -1 if none or unparseable
+     */
+    public static long parseRetryAfter( String value )
+    {
+        if ( value == null )
+        {
+            return -1;
+        }
+        value = value.trim();
+        try
+        {
+            return Math.max( 0, Long.parseLong( value ) * 1000 );
+        }
+        catch ( NumberFormatException nfe )
+        {
+            try
+            {
+                ZonedDateTime date = ZonedDateTime.parse( value, DateTimeFormatter.RFC_1123_DATE_TIME );
+                return Math.max( 0, date.toInstant().toEpochMilli() - System.currentTimeMillis() );
+            }
+            catch ( DateTimeParseException dtpe )
+            {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent calls for a same key: the first caller does the work, callers arriving while it is in flight
+ * wait and share its result or failure. Nothing is kept once the call completes.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V>
+{
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicInteger coalesced = new AtomicInteger();
+
+    /**
+     * Work done once per key at a time.
+     *
+     * @param <V> the result type
+     */
+    public interface Call<V>
+    {
+        V call()
+            throws IOException;
+    }
+
+    /**
+     * @param key the key identifying the work
+     * @param call the work to do if no call for the same key is in flight
+     * @return the result, computed by this thread or shared with the in-flight call
+     * @throws IOException if the call failed
+     */
+    public V execute( K key, Call<V> call )
+        throws IOException
+    {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent( key, future );
+        if ( existing != null )
+        {
+            coalesced.incrementAndGet();
+            return await( existing );
+        }
+
+        try
+        {
+            V value = call.call();
+            future.complete( value );
+            return value;
+        }
+        catch ( IOException | RuntimeException | Error e )
+        {
+            future.completeExceptionally( e );
+            throw e;
+        }
+        finally
+        {
+            inFlight.remove( key, future );
+        }
+    }
+
+    private V await( CompletableFuture<V> future )
+        throws IOException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch ( InterruptedException ie )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "interrupted while waiting for in-flight call" );
+        }
+        catch ( ExecutionException ee )
+        {
+            Throwable cause = ee.getCause();
+            if ( cause instanceof IOException )
+            {
+                throw ( IOException ) cause;
+            }
+            if ( cause instanceof RuntimeException )
+            {
+                throw ( RuntimeException ) cause;
+            }
+            throw ( Error ) cause;
+        }
+    }
+
+    /**
+     * @return number of calls that shared an in-flight call instead of doing the work
+     */
+    public int getCoalesced()
+    {
+        return coalesced.get();
+    }
+}
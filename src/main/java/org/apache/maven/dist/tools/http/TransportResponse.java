@@ -0,0 +1,61 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Raw HTTP response returned by a {@link HttpTransport}.
+ */
+public class TransportResponse
+{
+    private final int status;
+
+    private final Map<String, String> headers = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+
+    private final byte[] body;
+
+    public TransportResponse( int status, Map<String, String> headers, byte[] body )
+    {
+        this.status = status;
+        this.headers.putAll( headers );
+        this.body = body;
+    }
+
+    public int getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * @param name header name, case insensitive
+     * @return the header value, or <code>null</code>
+     */
+    public String getHeader( String name )
+    {
+        return headers.get( name );
+    }
+
+    public byte[] getBody()
+    {
+        return body;
+    }
+}
@@ -23,18 +23,19 @@ import java.io.IOException;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.apache.maven.dist.tools.AbstractCheckResult;
 import org.apache.maven.dist.tools.AbstractDistCheckMojo;
 import org.apache.maven.dist.tools.ConfigurationLineInfo;
-import org.apache.maven.dist.tools.JsoupRetry;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -128,7 +129,8 @@ public class DistCheckIndexPageMojo
             this.indexDate = ownText;
         }
     }
-    private final Map<String, List<CheckIndexPageResult>> results = new HashMap<>();
+    // results by index page, each in configuration order even if checked concurrently
+    private final Map<String, Map<ConfigurationLineInfo, CheckIndexPageResult>> results = new ConcurrentHashMap<>();
 
 
     private void reportLine( Sink sink, CheckIndexPageResult cipr , boolean displayDate )
@@ -140,8 +142,24 @@ public class DistCheckIndexPageMojo
         sink.anchor( cli.getArtifactId() );
         sink.rawText( cli.getArtifactId() );
         sink.anchor_();
+        cachedMark( sink, cipr );
         sink.tableCell_();
 
+        if ( !cipr.isChecked() )
+        {
+            sink.tableCell();
+            sink.link( cli.getMetadataFileURL( repoBaseUrl ) );
+            sink.rawText( "maven-metadata.xml" );
+            sink.link_();
+            sink.rawText( ": -" );
+            sink.tableCell_();
+
+            notCheckedCell( sink, cipr );
+
+            sink.tableRow_();
+            return;
+        }
+
         // maven-metadata.xml column
         sink.tableCell();
         sink.link( cli.getMetadataFileURL( repoBaseUrl ) );
@@ -175,7 +193,7 @@ public class DistCheckIndexPageMojo
         {
             iconError( sink );
 
-            addErrorLine( cli, null, null,
+            addErrorLine( cli, null, null, "index-version", cli.getIndexPageUrl(),
                           cli.getArtifactId() + ": found " + cipr.indexVersion + " instead of " + cipr.getVersion()
                               + " in " + cli.getIndexPageUrl() );
         }
@@ -234,11 +252,11 @@ public class DistCheckIndexPageMojo
         sink.paragraph_();
         sink.section1_();
 
-        for ( Map.Entry<String, List<CheckIndexPageResult>> result: results.entrySet() )
+        for ( Map.Entry<String, Map<ConfigurationLineInfo, CheckIndexPageResult>> result: results.entrySet() )
         {
             String indexPageId = result.getKey();
             IndexPage indexPage = INDEX_PAGES_REF.get( indexPageId );
-            List<CheckIndexPageResult> indexPageResults = result.getValue();
+            List<CheckIndexPageResult> indexPageResults = new ArrayList<>( result.getValue().values() );
 
             sink.anchor( indexPageResults.get( 0 ).getConfigurationLine().getDirectory() );
             sink.anchor_();
@@ -279,17 +297,28 @@ public class DistCheckIndexPageMojo
         sink.body_();
         sink.flush();
         sink.close();
+
+        reportRendered();
     }
 
     private void updateIndexPageInfo( ConfigurationLineInfo cli, CheckIndexPageResult r, IndexPage indexPage )
         throws IOException
     {
-        Document doc = indexPage.document;
-        if ( doc == null )
+        Document doc;
+        indexPage.lock.lock();
+        try
         {
-            // document not yet downloaded: download and cache
-            doc = JsoupRetry.get( indexPage.url );
-            indexPage.document = doc;
+            doc = indexPage.document;
+            if ( doc == null )
+            {
+                // document not yet downloaded: download and cache
+                doc = getDocument( indexPage.url );
+                indexPage.document = doc;
+            }
+        }
+        finally
+        {
+            indexPage.lock.unlock();
         }
 
         // Maven parent POM is now a special case in http://maven.apache.org/pom/
@@ -325,6 +354,66 @@ public class DistCheckIndexPageMojo
         }
     }
 
+    @Override
+    protected List<String> getPrefetchUrls( ConfigurationLineInfo configLine, String version )
+    {
+        IndexPage indexPage =
+            ( configLine.getIndexPageUrl() == null ) ? null : INDEX_PAGES_REF.get( configLine.getIndexPageUrl() );
+        if ( ( indexPage == null ) || ( indexPage.document != null ) )
+        {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList( indexPage.url );
+    }
+
+    @Override
+    protected Map<String, String> getCheckpointState( ConfigurationLineInfo configLine )
+    {
+        if ( configLine.getIndexPageUrl() == null )
+        {
+            // nothing to report
+            return Collections.emptyMap();
+        }
+        Map<ConfigurationLineInfo, CheckIndexPageResult> indexPageResults =
+            results.get( configLine.getIndexPageUrl() );
+        CheckIndexPageResult result = ( indexPageResults == null ) ? null : indexPageResults.get( configLine );
+        if ( result == null )
+        {
+            return null;
+        }
+        Map<String, String> state = new HashMap<>();
+        state.put( "indexVersion", result.indexVersion );
+        state.put( "indexDate", result.indexDate );
+        return state;
+    }
+
+    @Override
+    protected AbstractCheckResult restoreCheckpoint( ConfigurationLineInfo configLine, String version,
+                                                     Map<String, String> state )
+    {
+        CheckIndexPageResult result = new CheckIndexPageResult( configLine, version );
+        if ( configLine.getIndexPageUrl() != null )
+        {
+            result.setIndexVersion( state.get( "indexVersion" ) );
+            result.setIndexDate( state.get( "indexDate" ) );
+            results.computeIfAbsent( configLine.getIndexPageUrl(), k -> new ConcurrentSkipListMap<>() )
+                .put( configLine, result );
+        }
+        return result;
+    }
+
+    @Override
+    protected void notChecked( ConfigurationLineInfo configLine, String version, String reason )
+    {
+        if ( configLine.getIndexPageUrl() != null )
+        {
+            CheckIndexPageResult result = new CheckIndexPageResult( configLine, version );
+            result.setNotChecked( reason );
+            results.computeIfAbsent( configLine.getIndexPageUrl(), k -> new ConcurrentSkipListMap<>() )
+                .put( configLine, result );
+        }
+    }
+
     @Override
     protected void checkArtifact( ConfigurationLineInfo configLine, String version )
             throws MojoExecutionException
@@ -335,11 +424,8 @@ public class DistCheckIndexPageMojo
 
             if ( configLine.getIndexPageUrl() != null )
             {
-                if ( results.get( configLine.getIndexPageUrl() ) == null )
-                {
-                    results.put( configLine.getIndexPageUrl(), new LinkedList<CheckIndexPageResult>() );
-                } 
-                results.get( configLine.getIndexPageUrl() ).add( result );
+                results.computeIfAbsent( configLine.getIndexPageUrl(), k -> new ConcurrentSkipListMap<>() )
+                    .put( configLine, result );
                 updateIndexPageInfo( configLine, result, INDEX_PAGES_REF.get( configLine.getIndexPageUrl() ) );
             }
         }
@@ -348,4 +434,12 @@ public class DistCheckIndexPageMojo
             throw new MojoExecutionException( ex.getMessage(), ex );
         }
     }
+
+    /**
+     * @param ignoreDistFailures artifacts with dist failures to ignore
+     */
+    public void setIgnoreDistFailures( List<String> ignoreDistFailures )
+    {
+        this.ignoreDistFailures = ignoreDistFailures;
+    }
 }
@@ -19,6 +19,9 @@ package org.apache.maven.dist.tools.index;
  * under the License.
  */
 
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.jsoup.nodes.Document;
 
 class IndexPage
@@ -27,7 +30,8 @@ class IndexPage
     final String name;
     final int versionColumn;
     final boolean containsDate;
-    Document document;
+    volatile Document document;
+    final Lock lock = new ReentrantLock();
     
     IndexPage( String url, String name, int versionColumn, boolean containsDate )
     {
@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.maven.dist.tools.JsoupRetry;
+import org.apache.maven.dist.tools.http.HttpFetcher;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.reporting.AbstractMavenReport;
@@ -136,6 +137,8 @@ public class ListMasterJobsMojo extends AbstractMavenReport
         }
         
         generateReport( repoStatus );
+
+        getLog().debug( HttpFetcher.getTransport().toString() );
     }
     
     private void generateReport( List<Result> repoStatus )
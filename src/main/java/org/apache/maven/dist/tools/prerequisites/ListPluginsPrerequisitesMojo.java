@@ -26,6 +26,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.dist.tools.http.HttpFetcher;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.reporting.AbstractMavenReport;
@@ -123,6 +124,8 @@ public class ListPluginsPrerequisitesMojo
 
         sink.table_();
         sink.body_();
+
+        getLog().debug( HttpFetcher.getTransport().toString() );
     }
 
     @Override
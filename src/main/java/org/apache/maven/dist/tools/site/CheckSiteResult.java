@@ -42,7 +42,7 @@ class CheckSiteResult
     private String url;
     private Map<HTMLChecker, Boolean> checkMap = new HashMap<>();
     private int statusCode = -1;
-    private Document document;
+    private String comments;
     private String screenshotName;
 
     CheckSiteResult( DistCheckSiteMojo distCheckSiteMojo, ConfigurationLineInfo r, String version )
@@ -93,21 +93,6 @@ class CheckSiteResult
         }
         else 
         {
-            String text = "";
-            Elements htmlTag = document.select( "html " );
-            for ( Element htmlTa : htmlTag )
-            {
-                Node n = htmlTa.previousSibling();
-                if ( n instanceof Comment )
-                {
-                    text += ( ( Comment ) n ).getData();
-                }
-                else
-                {
-                    text += " ";
-                }
-            }
-
             sink.text( "skin: " );
             if ( isSkin( "Fluido" ) )
             {
@@ -122,7 +107,7 @@ class CheckSiteResult
                 sink.text( "Not determined" );
             }
             sink.verbatim( null );
-            sink.text( text.trim().replace( " |", "|" ).replace( "| ", "" ) );
+            sink.text( comments );
             sink.verbatim_();
         }
     }
@@ -168,10 +153,48 @@ class CheckSiteResult
 
     void setDocument( Document doc )
     {
-        this.document = doc ;
+        // only comments on top of html are displayed: document is not kept
+        String text = "";
+        if ( doc != null )
+        {
+            Elements htmlTag = doc.select( "html " );
+            for ( Element htmlTa : htmlTag )
+            {
+                Node n = htmlTa.previousSibling();
+                if ( n instanceof Comment )
+                {
+                    text += ( ( Comment ) n ).getData();
+                }
+                else
+                {
+                    text += " ";
+                }
+            }
+        }
+        this.comments = text.trim().replace( " |", "|" ).replace( "| ", "" );
         statusCode = ( doc == null ) ? -1 : DistCheckSiteMojo.HTTP_OK;
     }
 
+    /**
+     * @return the comments on top of html
+     */
+    String getComments()
+    {
+        return comments;
+    }
+
+    /**
+     * Restore a result checked in a previous run.
+     *
+     * @param status the HTTP status code
+     * @param topComments the comments on top of html
+     */
+    void restore( int status, String topComments )
+    {
+        this.statusCode = status;
+        this.comments = topComments;
+    }
+
     void setScreenShot( String fileName )
     {
         this.screenshotName = fileName;
@@ -20,9 +20,15 @@ package org.apache.maven.dist.tools.site;
  */
 
 import java.io.File;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.artifact.Artifact;
@@ -30,7 +36,8 @@ import org.apache.maven.artifact.factory.ArtifactFactory;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.dist.tools.AbstractDistCheckMojo;
 import org.apache.maven.dist.tools.ConfigurationLineInfo;
-import org.apache.maven.dist.tools.JsoupRetry;
+import org.apache.maven.dist.tools.FetchPlan;
+import org.apache.maven.dist.tools.http.DeferredRetryException;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -115,11 +122,15 @@ public class DistCheckSiteMojo
         return "Verification of documentation site corresponding to artifact";
     }
 
-    // keep result
-    private List<CheckSiteResult> results = new LinkedList<>();
+    // keep result, in configuration order even if checked concurrently
+    private final Map<ConfigurationLineInfo, CheckSiteResult> results = new ConcurrentSkipListMap<>();
     private final List<HTMLChecker> checker = HTMLCheckerFactory.getCheckers();
     private WebDriver driver;
 
+    private final Lock driverLock = new ReentrantLock();
+
+    private final Lock projectBuilderLock = new ReentrantLock();
+
     @Override
     protected void executeReport( Locale locale )
         throws MavenReportException
@@ -180,7 +191,7 @@ public class DistCheckSiteMojo
         sink.tableRow_();
 
         String directory = null;
-        for ( CheckSiteResult csr : results )
+        for ( CheckSiteResult csr : results.values() )
         {
             ConfigurationLineInfo cli = csr.getConfigurationLine();
 
@@ -190,7 +201,7 @@ public class DistCheckSiteMojo
                 sink.tableRow();
                 sink.tableHeaderCell();
                 // shorten groupid
-                sink.rawText( cli.getGroupId().replaceAll( "org.apache.maven", "o.a.m" ) );
+                sink.rawText( cli.getShortGroupId() );
                 sink.tableHeaderCell_();
                 for ( int i = 0; i < 5 ; i++ )
                 {
@@ -206,8 +217,15 @@ public class DistCheckSiteMojo
             sink.anchor( cli.getArtifactId() );
             sink.rawText( cli.getArtifactId() );
             sink.anchor_();
+            cachedMark( sink, csr );
             sink.tableCell_();
 
+            if ( !csr.isChecked() )
+            {
+                reportNotCheckedLine( sink, csr );
+                continue;
+            }
+
             sink.tableCell();
             sink.rawText( csr.getVersion() );
             sink.tableCell_();
@@ -252,6 +270,28 @@ public class DistCheckSiteMojo
         sink.close();
     }
 
+    private void reportNotCheckedLine( Sink sink, CheckSiteResult csr )
+    {
+        sink.tableCell();
+        sink.rawText( ( csr.getVersion() == null ) ? "-" : csr.getVersion() );
+        sink.tableCell_();
+
+        sink.tableCell();
+        sink.rawText( ( csr.getVersion() == null ) ? "-" : csr.getConfigurationLine().getReleaseDateFromMetadata() );
+        sink.tableCell_();
+
+        notCheckedCell( sink, csr );
+        if ( screenShot )
+        {
+            sink.tableCell();
+            sink.tableCell_();
+        }
+        sink.tableCell();
+        sink.tableCell_();
+
+        sink.tableRow_();
+    }
+
     private String getSimplifiedUrl( String url )
     {
         return url.replace( "://maven.apache.org", "://m.a.o" );
@@ -260,30 +300,46 @@ public class DistCheckSiteMojo
     private void checkSite( ConfigurationLineInfo cli, String version )
     {
         CheckSiteResult result = new CheckSiteResult( this, cli, version );
-        results.add( result );
+        results.put( cli, result );
         try
         {
             Artifact artifact =
                 artifactFactory.createProjectArtifact( cli.getGroupId(), cli.getArtifactId(), version );
-            MavenProject artifactProject =
-                mavenProjectBuilder.buildFromRepository( artifact, artifactRepositories, localRepository, false );
+            MavenProject artifactProject;
+            // legacy project builder is not known to be thread-safe
+            // (explicit lock rather than synchronized: does not pin a virtual thread's carrier during I/O)
+            projectBuilderLock.lock();
+            try
+            {
+                artifactProject =
+                    mavenProjectBuilder.buildFromRepository( artifact, artifactRepositories, localRepository, false );
+            }
+            finally
+            {
+                projectBuilderLock.unlock();
+            }
 
-            String siteUrl = sites.get( cli.getArtifactId() );
+            String siteUrl = getConfiguredSiteUrl( cli, version );
             if ( siteUrl == null )
             {
-                siteUrl = sites.get( cli.getArtifactId() + ':' + version );
-                if ( siteUrl == null )
-                {
-                    siteUrl = artifactProject.getUrl();
-                }
+                siteUrl = artifactProject.getUrl();
             }
 
             result.setUrl( siteUrl );
-            Document doc = JsoupRetry.get( siteUrl );
+            Document doc = getDocument( siteUrl );
             if ( screenShot )
             {
-                driver.get( artifactProject.getUrl() );
-                File scrFile = ( ( TakesScreenshot ) driver ).getScreenshotAs( OutputType.FILE );
+                File scrFile;
+                driverLock.lock();
+                try
+                {
+                    driver.get( artifactProject.getUrl() );
+                    scrFile = ( ( TakesScreenshot ) driver ).getScreenshotAs( OutputType.FILE );
+                }
+                finally
+                {
+                    driverLock.unlock();
+                }
                 String fileName = "images" + File.separator
                         + cli.getGroupId() + "_" + cli.getArtifactId() + ".png";
                 result.setScreenShot( fileName );
@@ -301,10 +357,17 @@ public class DistCheckSiteMojo
             addErrorLine( cli,
                           version,
                           ignoreSiteFailures,
+                          "http-error",
+                          hes.getUrl(),
                           "HTTP result code: " + hes.getStatusCode() + " for " + cli.getArtifactId() + " site = "
                               + hes.getUrl() );
             result.setHTTPErrorUrl( hes.getStatusCode() );
         }
+        catch ( DeferredRetryException dre )
+        {
+            // check will be run again later
+            throw dre;
+        }
         catch ( Exception ex )
         {
             //continue for  other artifact
@@ -313,33 +376,148 @@ public class DistCheckSiteMojo
 
     }
 
+    private String getConfiguredSiteUrl( ConfigurationLineInfo cli, String version )
+    {
+        String siteUrl = sites.get( cli.getArtifactId() );
+        return ( siteUrl == null ) ? sites.get( cli.getArtifactId() + ':' + version ) : siteUrl;
+    }
+
     @Override
-    protected void checkArtifact( ConfigurationLineInfo configLine, String latestVersion )
-        throws MojoExecutionException
+    protected List<String> getPrefetchUrls( ConfigurationLineInfo configLine, String version )
     {
-        checkSite( configLine, latestVersion );
+        // site url is read from pom, unless configured
+        String siteUrl = getConfiguredSiteUrl( configLine, version );
+        return ( siteUrl == null ) ? Collections.<String>emptyList() : Collections.singletonList( siteUrl );
     }
 
     @Override
-    public void execute()
-        throws MojoExecutionException
+    protected void planFetches( FetchPlan plan, ConfigurationLineInfo configLine, String version )
     {
-        try
+        // pom is read by Maven to build the artifact project
+        plan.add( getOutputName(), configLine.getVersionnedPomFileURL( repoBaseUrl, version ) );
+        if ( getConfiguredSiteUrl( configLine, version ) == null )
         {
-            //resolve only to what we set
-            if ( screenShot )
+            plan.addUnresolved( getOutputName(), "site url read from pom" );
+        }
+        super.planFetches( plan, configLine, version );
+    }
+
+    @Override
+    protected Map<String, String> getCheckpointState( ConfigurationLineInfo configLine )
+    {
+        CheckSiteResult result = results.get( configLine );
+        if ( ( result == null ) || ( result.getStatusCode() < 0 ) )
+        {
+            // unexpected failure, maybe transient: check again when resuming
+            return null;
+        }
+        List<String> found = new ArrayList<>();
+        for ( Map.Entry<HTMLChecker, Boolean> e : result.getCheckMap().entrySet() )
+        {
+            if ( e.getValue() )
             {
-                // create driver once reduce time to complete mojo
-                driver = new FirefoxDriver();
+                found.add( e.getKey().getName() );
             }
-            super.execute();
         }
-        finally
+        Map<String, String> state = new HashMap<>();
+        state.put( "url", result.getUrl() );
+        state.put( "statusCode", Integer.toString( result.getStatusCode() ) );
+        state.put( "comments", result.getComments() );
+        state.put( "found", toStateValue( found ) );
+        state.put( "screenshot", result.getScreenShot() );
+        return state;
+    }
+
+    @Override
+    protected CheckSiteResult restoreCheckpoint( ConfigurationLineInfo configLine, String version,
+                                                 Map<String, String> state )
+    {
+        if ( state.get( "statusCode" ) == null )
         {
-            if ( screenShot )
+            return null;
+        }
+        CheckSiteResult result = new CheckSiteResult( this, configLine, version );
+        result.setUrl( state.get( "url" ) );
+        result.restore( Integer.parseInt( state.get( "statusCode" ) ), state.get( "comments" ) );
+        result.setScreenShot( state.get( "screenshot" ) );
+        if ( result.getStatusCode() == HTTP_OK )
+        {
+            List<String> found = fromStateValue( state.get( "found" ) );
+            for ( HTMLChecker c : checker )
             {
-                driver.close();
+                result.getCheckMap().put( c, ( found != null ) && found.contains( c.getName() ) );
             }
         }
+        results.put( configLine, result );
+        return result;
+    }
+
+    @Override
+    protected void notChecked( ConfigurationLineInfo configLine, String version, String reason )
+    {
+        CheckSiteResult result = new CheckSiteResult( this, configLine, version );
+        result.setNotChecked( reason );
+        results.put( configLine, result );
+    }
+
+    @Override
+    protected void checkArtifact( ConfigurationLineInfo configLine, String latestVersion )
+        throws MojoExecutionException
+    {
+        checkSite( configLine, latestVersion );
+    }
+
+    @Override
+    protected void prepareRun()
+    {
+        super.prepareRun();
+        //resolve only to what we set
+        if ( screenShot )
+        {
+            // create driver once reduce time to complete mojo
+            driver = new FirefoxDriver();
+        }
+    }
+
+    @Override
+    protected void closeRun()
+    {
+        super.closeRun();
+        if ( driver != null )
+        {
+            driver.close();
+            driver = null;
+        }
+    }
+
+    /**
+     * @param ignoreSiteFailures artifacts with site failures to ignore
+     */
+    public void setIgnoreSiteFailures( List<String> ignoreSiteFailures )
+    {
+        this.ignoreSiteFailures = ignoreSiteFailures;
+    }
+
+    /**
+     * @param screenShot take screenshot of sites
+     */
+    public void setScreenShot( boolean screenShot )
+    {
+        this.screenShot = screenShot;
+    }
+
+    /**
+     * Set components used to read artifacts poms.
+     *
+     * @param artifactFactory the artifact factory
+     * @param localRepository the local repository
+     * @param mavenProjectBuilder the project builder
+     */
+    public void setProjectComponents( ArtifactFactory artifactFactory, ArtifactRepository localRepository,
+                                      MavenProjectBuilder mavenProjectBuilder )
+    {
+        this.artifactFactory = artifactFactory;
+        this.localRepository = localRepository;
+        this.mavenProjectBuilder = mavenProjectBuilder;
     }
 }
@@ -19,18 +19,24 @@ package org.apache.maven.dist.tools.source;
  * under the License.
  */
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.apache.maven.dist.tools.AbstractDistCheckMojo;
 import org.apache.maven.dist.tools.ConfigurationLineInfo;
-import org.apache.maven.dist.tools.JsoupRetry;
+import org.apache.maven.dist.tools.FetchPlan;
 import org.apache.maven.doxia.markup.HtmlMarkup;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
@@ -55,6 +61,10 @@ public class DistCheckSourceReleaseMojo
 
     public static final String FAILURES_FILENAME = "check-source-release.log";
 
+    private static final String OLD_FILE = "old-file";
+
+    private static final String MISSING_FILE = "missing-file";
+
     @Override
     protected boolean isIndexPageCheck()
     {
@@ -84,7 +94,8 @@ public class DistCheckSourceReleaseMojo
         return "Verification of source release";
     }
 
-    private final List<CheckSourceReleaseResult> results = new LinkedList<>();
+    // keep results in configuration order, even if checked concurrently
+    private final Map<ConfigurationLineInfo, CheckSourceReleaseResult> results = new ConcurrentSkipListMap<>();
 
     private static class DirectoryStatistics
     {
@@ -115,6 +126,10 @@ public class DistCheckSourceReleaseMojo
 
         public void addArtifact( CheckSourceReleaseResult result )
         {
+            if ( !result.isChecked() )
+            {
+                return;
+            }
             artifactsCount++;
             if ( !result.central.isEmpty() )
             {
@@ -148,8 +163,15 @@ public class DistCheckSourceReleaseMojo
         sink.anchor( cli.getArtifactId() );
         sink.rawText( cli.getArtifactId() );
         sink.anchor_();
+        cachedMark( sink, csrr );
         sink.tableCell_();
 
+        if ( !csrr.isChecked() )
+        {
+            reportNotCheckedLine( sink, csrr );
+            return;
+        }
+
         // LATEST column
         sink.tableCell();
         sink.link( cli.getMetadataFileURL( repoBaseUrl ) );
@@ -250,6 +272,29 @@ public class DistCheckSourceReleaseMojo
         sink.tableRow_();
     }
 
+    private void reportNotCheckedLine( Sink sink, CheckSourceReleaseResult csrr )
+    {
+        ConfigurationLineInfo cli = csrr.getConfigurationLine();
+
+        // LATEST column
+        sink.tableCell();
+        sink.link( cli.getMetadataFileURL( repoBaseUrl ) );
+        sink.rawText( ( csrr.getVersion() == null ) ? "-" : csrr.getVersion() );
+        sink.link_();
+        sink.tableCell_();
+
+        // DATE column
+        sink.tableCell();
+        sink.rawText( ( csrr.getVersion() == null ) ? "-" : cli.getReleaseDateFromMetadata() );
+        sink.tableCell_();
+
+        // dist and central columns
+        notCheckedCell( sink, csrr );
+        notCheckedCell( sink, csrr );
+
+        sink.tableRow_();
+    }
+
     @Override
     protected void executeReport( Locale locale )
         throws MavenReportException
@@ -271,7 +316,7 @@ public class DistCheckSourceReleaseMojo
 
         List<DirectoryStatistics> statistics = new ArrayList<>();
         DirectoryStatistics current = null;
-        for ( CheckSourceReleaseResult csrr : results )
+        for ( CheckSourceReleaseResult csrr : results.values() )
         {
             if ( ( current == null ) || !current.contains( csrr ) )
             {
@@ -331,7 +376,7 @@ public class DistCheckSourceReleaseMojo
         Iterator<DirectoryStatistics> dirs = statistics.iterator();
         current = null;
 
-        for ( CheckSourceReleaseResult csrr : results )
+        for ( CheckSourceReleaseResult csrr : results.values() )
         {
             if ( ( current == null ) || !current.contains( csrr ) )
             {
@@ -340,7 +385,7 @@ public class DistCheckSourceReleaseMojo
                 sink.tableRow();
                 sink.tableHeaderCell();
                 // shorten groupid
-                sink.rawText( csrr.getConfigurationLine().getGroupId().replaceAll( "org.apache.maven", "o.a.m" ) + ": "
+                sink.rawText( csrr.getConfigurationLine().getShortGroupId() + ": "
                     + String.valueOf( current.artifactsCount ) );
                 sink.tableHeaderCell_();
                 sink.tableHeaderCell();
@@ -409,9 +454,25 @@ public class DistCheckSourceReleaseMojo
         return "^" + artifact + "-[0-9].*source-release.*$";
     }
 
-    private String cachedUrl;
+    /**
+     * Maximum number of parsed distribution area pages kept, least recently used first dropped: each page is read
+     * again by the check of the same artifact, soon after.
+     */
+    private static final int MAX_DISTRIBUTION_AREA_DOCUMENTS = 16;
+
+    private final Map<String, Document> distributionAreaDocuments =
+        Collections.synchronizedMap( new LinkedHashMap<String, Document>( 16, 0.75f, true )
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, Document> eldest )
+            {
+                return size() > MAX_DISTRIBUTION_AREA_DOCUMENTS;
+            }
+        } );
 
-    private Document cachedDocument;
+    private ReleaseFolderMemo centralFolders;
 
     private Document read( String url )
         throws IOException
@@ -419,16 +480,17 @@ public class DistCheckSourceReleaseMojo
         if ( url.startsWith( distributionAreaUrl ) )
         {
             // distribution area: cache content, since it is read multiple times
-            if ( !url.equals( cachedUrl ) )
+            Document document = distributionAreaDocuments.get( url );
+            if ( document == null )
             {
-                cachedUrl = url;
-                cachedDocument = JsoupRetry.get( url );
+                document = getDocument( url );
+                distributionAreaDocuments.put( url, document );
             }
-            return cachedDocument;
+            return document;
         }
         else
         {
-            return JsoupRetry.get( url );
+            return getDocument( url );
         }
     }
 
@@ -469,27 +531,18 @@ public class DistCheckSourceReleaseMojo
         if ( !retrievedOldFiles.isEmpty() )
         {
             // write the following output in red so it's more readable in jenkins console
-            addErrorLine( cli, version, ignoreDistFailures, "Different version than " + version + " for "
-                + cli.getArtifactId() + " available in " + url );
+            addErrorLine( cli, version, ignoreDistFailures, OLD_FILE, url, "Different version than " + version
+                + " for " + cli.getArtifactId() + " available in " + url );
             for ( String sourceItem : retrievedOldFiles )
             {
-                addErrorLine( cli, version, ignoreDistFailures, " > " + sourceItem + " <" );
+                addErrorLine( cli, version, ignoreDistFailures, OLD_FILE, url, " > " + sourceItem + " <" );
             }
         }
 
         return retrievedOldFiles;
     }
 
-    /**
-     * Check that url points to a directory index containing expected release files
-     * 
-     * @param url
-     * @param cli
-     * @param version
-     * @return missing files
-     * @throws IOException
-     */
-    private List<String> checkDirectoryIndex( String url, ConfigurationLineInfo cli, String version, boolean dist )
+    private Set<String> getFileNames( String url )
         throws IOException
     {
         Set<String> retrievedFiles = new HashSet<>();
@@ -498,7 +551,21 @@ public class DistCheckSourceReleaseMojo
         {
             retrievedFiles.add( e.attr( "href" ) );
         }
+        return retrievedFiles;
+    }
 
+    /**
+     * Check that directory index contains expected release files
+     * 
+     * @param retrievedFiles file names in directory index
+     * @param url
+     * @param cli
+     * @param version
+     * @return missing files
+     */
+    private List<String> checkDirectoryIndex( Set<String> retrievedFiles, String url, ConfigurationLineInfo cli,
+                                              String version, boolean dist )
+    {
         String sourceReleaseFilename = cli.getSourceReleaseFilename( version, dist );
 
         List<String> missingFiles = new ArrayList<>();
@@ -522,16 +589,132 @@ public class DistCheckSourceReleaseMojo
 
         if ( !missingFiles.isEmpty() )
         {
-            addErrorLine( cli, version, ignoreDistFailures, "Missing file for " + cli.getArtifactId() + " in " + url );
+            addErrorLine( cli, version, ignoreDistFailures, MISSING_FILE, url,
+                          "Missing file for " + cli.getArtifactId() + " in " + url );
             for ( String sourceItem : missingFiles )
             {
-                addErrorLine( cli, version, ignoreDistFailures, " > " + sourceItem + " <" );
+                addErrorLine( cli, version, ignoreDistFailures, MISSING_FILE, url, " > " + sourceItem + " <" );
             }
         }
 
         return missingFiles;
     }
 
+    private String getDistributionAreaUrl( ConfigurationLineInfo configLine, String version )
+    {
+        return distributionAreaUrl + configLine.getDirectory()
+            + ( configLine.isSrcBin() ? ( "/" + version + "/source" ) : "" );
+    }
+
+    @Override
+    protected void prepareRun()
+    {
+        super.prepareRun();
+        loadCentralFolders();
+    }
+
+    @Override
+    protected void closeRun()
+    {
+        super.closeRun();
+        if ( centralFolders == null )
+        {
+            // run stopped before checking
+            return;
+        }
+        try
+        {
+            centralFolders.save();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Cannot write central release folders memo: " + e.getMessage() );
+        }
+        getLog().info( centralFolders.toString() );
+    }
+
+    private void loadCentralFolders()
+    {
+        centralFolders = new ReleaseFolderMemo( new File( httpCacheDirectory, "central-release-folders.properties" ) );
+        try
+        {
+            centralFolders.load();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Cannot read central release folders memo: " + e.getMessage() );
+        }
+    }
+
+    @Override
+    protected void planFetches( FetchPlan plan, ConfigurationLineInfo configLine, String version )
+    {
+        if ( centralFolders == null )
+        {
+            // planned without checking
+            loadCentralFolders();
+        }
+        super.planFetches( plan, configLine, version );
+    }
+
+    @Override
+    protected List<String> getPrefetchUrls( ConfigurationLineInfo configLine, String version )
+    {
+        List<String> urls = new ArrayList<>();
+        if ( !centralFolders.contains( configLine, version ) )
+        {
+            urls.add( configLine.getVersionnedFolderURL( repoBaseUrl, version ) );
+        }
+        if ( !NOT_IN_DISTRIBUTION_AREA.equals( configLine.getDirectory() ) )
+        {
+            String distUrl = getDistributionAreaUrl( configLine, version );
+            if ( !distributionAreaDocuments.containsKey( distUrl ) )
+            {
+                urls.add( distUrl );
+            }
+        }
+        return urls;
+    }
+
+    @Override
+    protected Map<String, String> getCheckpointState( ConfigurationLineInfo configLine )
+    {
+        CheckSourceReleaseResult result = results.get( configLine );
+        if ( result == null )
+        {
+            return null;
+        }
+        Map<String, String> state = new HashMap<>();
+        state.put( "central", toStateValue( result.central ) );
+        state.put( "dist", toStateValue( result.dist ) );
+        state.put( "distOlder", toStateValue( result.distOlder ) );
+        return state;
+    }
+
+    @Override
+    protected CheckSourceReleaseResult restoreCheckpoint( ConfigurationLineInfo configLine, String version,
+                                                          Map<String, String> state )
+    {
+        CheckSourceReleaseResult result = new CheckSourceReleaseResult( configLine, version );
+        result.setMissingCentralSourceRelease( fromStateValue( state.get( "central" ) ) );
+        result.setMissingDistSourceRelease( fromStateValue( state.get( "dist" ) ) );
+        result.setDistOlderSourceRelease( fromStateValue( state.get( "distOlder" ) ) );
+        if ( result.central == null )
+        {
+            return null;
+        }
+        results.put( configLine, result );
+        return result;
+    }
+
+    @Override
+    protected void notChecked( ConfigurationLineInfo configLine, String version, String reason )
+    {
+        CheckSourceReleaseResult result = new CheckSourceReleaseResult( configLine, version );
+        result.setNotChecked( reason );
+        results.put( configLine, result );
+    }
+
     @Override
     protected void checkArtifact( ConfigurationLineInfo configLine, String version )
         throws MojoExecutionException
@@ -539,11 +722,23 @@ public class DistCheckSourceReleaseMojo
         try
         {
             CheckSourceReleaseResult result = new CheckSourceReleaseResult( configLine, version );
-            results.add( result );
+            results.put( configLine, result );
 
             // central
             String centralUrl = configLine.getVersionnedFolderURL( repoBaseUrl, version );
-            result.setMissingCentralSourceRelease( checkDirectoryIndex( centralUrl, configLine, version, false ) );
+            Set<String> centralFiles = centralFolders.get( configLine, version );
+            boolean known = ( centralFiles != null );
+            if ( !known )
+            {
+                centralFiles = getFileNames( centralUrl );
+            }
+            List<String> missingCentral = checkDirectoryIndex( centralFiles, centralUrl, configLine, version, false );
+            if ( !known && missingCentral.isEmpty() )
+            {
+                // complete release folder: immutable from now
+                centralFolders.put( configLine, version, centralFiles );
+            }
+            result.setMissingCentralSourceRelease( missingCentral );
 
             if ( NOT_IN_DISTRIBUTION_AREA.equals( configLine.getDirectory() ) )
             {
@@ -552,9 +747,9 @@ public class DistCheckSourceReleaseMojo
             }
 
             // dist
-            String distUrl = distributionAreaUrl + configLine.getDirectory()
-                + ( configLine.isSrcBin() ? ( "/" + version + "/source" ) : "" );
-            result.setMissingDistSourceRelease( checkDirectoryIndex( distUrl, configLine, version, true ) );
+            String distUrl = getDistributionAreaUrl( configLine, version );
+            result.setMissingDistSourceRelease( checkDirectoryIndex( getFileNames( distUrl ), distUrl, configLine,
+                                                                     version, true ) );
             result.setDistOlderSourceRelease( checkContainsOld( distUrl, configLine, version ) );
         }
         catch ( IOException ex )
@@ -562,4 +757,12 @@ public class DistCheckSourceReleaseMojo
             throw new MojoExecutionException( ex.getMessage(), ex );
         }
     }
+
+    /**
+     * @param ignoreDistFailures artifacts with dist failures to ignore
+     */
+    public void setIgnoreDistFailures( List<String> ignoreDistFailures )
+    {
+        this.ignoreDistFailures = ignoreDistFailures;
+    }
 }
@@ -0,0 +1,147 @@
+package org.apache.maven.dist.tools.source;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.dist.tools.ConfigurationLineInfo;
+
+/**
+ * File names of release folders in central repository, by <code>groupId:artifactId:version</code>: a released
+ * version folder is immutable once published, so once its check succeeded it never needs to be read again.
+ * Kept between runs as a properties file.
+ */
+class ReleaseFolderMemo
+{
+    private final File file;
+
+    private final Map<String, Set<String>> folders = new ConcurrentHashMap<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private final AtomicInteger added = new AtomicInteger();
+
+    ReleaseFolderMemo( File file )
+    {
+        this.file = file;
+    }
+
+    private static String key( ConfigurationLineInfo cli, String version )
+    {
+        return cli.getGroupId() + ':' + cli.getArtifactId() + ':' + version;
+    }
+
+    void load()
+        throws IOException
+    {
+        if ( !file.isFile() )
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        try ( InputStream in = Files.newInputStream( file.toPath() ) )
+        {
+            properties.load( in );
+        }
+        for ( String key : properties.stringPropertyNames() )
+        {
+            folders.put( key, Collections.unmodifiableSet(
+                new HashSet<>( Arrays.asList( properties.getProperty( key ).split( "\n" ) ) ) ) );
+        }
+    }
+
+    void save()
+        throws IOException
+    {
+        if ( added.get() == 0 )
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        for ( Map.Entry<String, Set<String>> folder : folders.entrySet() )
+        {
+            properties.setProperty( folder.getKey(), String.join( "\n", folder.getValue() ) );
+        }
+
+        file.getParentFile().mkdirs();
+        File tmp = new File( file.getPath() + ".tmp" );
+        try ( OutputStream out = Files.newOutputStream( tmp.toPath() ) )
+        {
+            properties.store( out, "dist-tool file names of released version folders in central repository" );
+        }
+        Files.move( tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    }
+
+    /**
+     * @param cli the artifact
+     * @param version the released version
+     * @return the file names of the release folder, or <code>null</code> if not known
+     */
+    Set<String> get( ConfigurationLineInfo cli, String version )
+    {
+        Set<String> files = folders.get( key( cli, version ) );
+        if ( files != null )
+        {
+            hits.incrementAndGet();
+        }
+        return files;
+    }
+
+    boolean contains( ConfigurationLineInfo cli, String version )
+    {
+        return folders.containsKey( key( cli, version ) );
+    }
+
+    /**
+     * Remember the file names of a release folder: only once it is known to be complete.
+     *
+     * @param cli the artifact
+     * @param version the released version
+     * @param files the file names
+     */
+    void put( ConfigurationLineInfo cli, String version, Set<String> files )
+    {
+        if ( folders.put( key( cli, version ), Collections.unmodifiableSet( new HashSet<>( files ) ) ) == null )
+        {
+            added.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Central release folders memo " + file + ": " + folders.size() + " known, " + hits.get()
+            + " not read again, " + added.get() + " added";
+    }
+}
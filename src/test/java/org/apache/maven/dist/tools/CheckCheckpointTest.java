@@ -0,0 +1,97 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.maven.dist.tools.CheckFixture.artifact;
+import static org.apache.maven.dist.tools.CheckFixture.directory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CheckCheckpointTest
+{
+    private final File directory = directory( CheckCheckpointTest.class );
+
+    @Test
+    public void testEncodeDecode()
+        throws Exception
+    {
+        Map<String, String> state = Collections.singletonMap( "dist", "a.zip\nb=c&d.zip" );
+        List<Failure> failures =
+            Arrays.asList( new Failure( "missing-file", "https://host/a&b=c/", false, "missing a.zip" ),
+                           new Failure( "index-version", null, true, "" ) );
+        CheckCheckpoint.Entry entry = new CheckCheckpoint.Entry( "1.0", "20200101120000", failures, state, 42 );
+
+        CheckCheckpoint.Entry decoded = CheckCheckpoint.decode( CheckCheckpoint.encode( entry ) );
+        assertEquals( "1.0", decoded.version );
+        assertEquals( "20200101120000", decoded.lastUpdated );
+        assertEquals( entry.failures, decoded.failures );
+        assertEquals( state, decoded.state );
+        assertEquals( 42, decoded.time );
+    }
+
+    @Test
+    public void testTruncatedEntry()
+        throws Exception
+    {
+        CheckCheckpoint.Entry entry = new CheckCheckpoint.Entry( "1.0", null, Collections.<Failure>emptyList(),
+                                                                 Collections.<String, String>emptyMap(), 42 );
+        String encoded = CheckCheckpoint.encode( entry );
+        assertNull( CheckCheckpoint.decode( encoded.substring( 0, encoded.indexOf( "time" ) ) ) );
+    }
+
+    @Test
+    public void testResumeKeepsRecentEntries()
+        throws Exception
+    {
+        File file = new File( directory, "checkpoint.properties" );
+        ConfigurationLineInfo recent = artifact( "recent" );
+        ConfigurationLineInfo old = artifact( "old" );
+        long now = System.currentTimeMillis();
+
+        CheckCheckpoint checkpoint = new CheckCheckpoint( file );
+        checkpoint.clear();
+        checkpoint.record( old, entry( "1.0", now - 2 * 3600 * 1000 ) );
+        checkpoint.record( recent, entry( "1.0", now ) );
+        // later entry replaces earlier one
+        checkpoint.record( recent, entry( "2.0", now ) );
+        checkpoint.close();
+
+        CheckCheckpoint resumed = new CheckCheckpoint( file );
+        resumed.load( 3600 * 1000 );
+        assertEquals( 1, resumed.size() );
+        assertEquals( "2.0", resumed.get( recent ).version );
+        assertNull( resumed.get( old ) );
+    }
+
+    private static CheckCheckpoint.Entry entry( String version, long time )
+    {
+        return new CheckCheckpoint.Entry( version, null, Collections.<Failure>emptyList(),
+                                          Collections.<String, String>emptyMap(), time );
+    }
+}
@@ -0,0 +1,70 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+
+/**
+ * Artifacts and working directory shared by tests of the files written by a check run.
+ */
+final class CheckFixture
+{
+    private static final ConfigurationLineInfo PLUGINS =
+        new ConfigurationLineInfo( new String[] { "plugins", "org.apache.maven.plugins" } );
+
+    private CheckFixture()
+    {
+    }
+
+    /**
+     * @param test the test class
+     * @return the working directory of the test, in <code>target</code>
+     */
+    static File directory( Class<?> test )
+    {
+        return new File( "target", test.getSimpleName() );
+    }
+
+    /**
+     * @param artifactId the artifact id
+     * @return an artifact of the <code>org.apache.maven.plugins</code> group
+     */
+    static ConfigurationLineInfo artifact( String artifactId )
+        throws InvalidVersionSpecificationException
+    {
+        return new ConfigurationLineInfo( PLUGINS, new String[] { artifactId } );
+    }
+
+    /**
+     * @param artifactId the artifact id
+     * @param position the position in configuration
+     * @return an artifact of the <code>org.apache.maven.plugins</code> group
+     */
+    static ConfigurationLineInfo artifact( String artifactId, int position )
+        throws InvalidVersionSpecificationException
+    {
+        ConfigurationLineInfo cli = artifact( artifactId );
+        cli.setPosition( position );
+        return cli;
+    }
+}
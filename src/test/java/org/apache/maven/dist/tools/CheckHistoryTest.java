@@ -0,0 +1,82 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.maven.dist.tools.CheckFixture.artifact;
+import static org.apache.maven.dist.tools.CheckFixture.directory;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CheckHistoryTest
+{
+    private final File directory = directory( CheckHistoryTest.class );
+
+    @Test
+    public void testUnknownFirstThenLongestOrFailing()
+        throws Exception
+    {
+        ConfigurationLineInfo fast = artifact( "fast", 0 );
+        ConfigurationLineInfo slow = artifact( "slow", 1 );
+        ConfigurationLineInfo failing = artifact( "failing", 2 );
+        ConfigurationLineInfo unknown = artifact( "unknown", 3 );
+
+        CheckHistory history = new CheckHistory( new File( directory, "unsaved.properties" ) );
+        history.record( fast, 100, false );
+        history.record( slow, 1000, false );
+        history.record( failing, 600, true );
+
+        List<ConfigurationLineInfo> order = history.sortByPriority( Arrays.asList( fast, slow, failing, unknown ) );
+        assertEquals( Arrays.asList( unknown, failing, slow, fast ), order );
+    }
+
+    @Test
+    public void testSaveAndLoad()
+        throws Exception
+    {
+        File file = new File( directory, "history/check.properties" );
+        ConfigurationLineInfo a = artifact( "a", 0 );
+
+        CheckHistory history = new CheckHistory( file );
+        history.record( a, 200, false );
+        history.record( a, 400, true );
+        history.save();
+
+        CheckHistory loaded = new CheckHistory( file );
+        loaded.load();
+        assertEquals( 1, loaded.size() );
+        assertEquals( 300 * 1.5, loaded.getPriority( a ), 0.01 );
+    }
+
+    @Test
+    public void testMissingFile()
+        throws IOException
+    {
+        CheckHistory history = new CheckHistory( new File( directory, "missing.properties" ) );
+        history.load();
+        assertEquals( 0, history.size() );
+    }
+}
@@ -0,0 +1,81 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.maven.dist.tools.CheckFixture.artifact;
+import static org.apache.maven.dist.tools.CheckFixture.directory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CheckResultsTest
+{
+    private final File directory = directory( CheckResultsTest.class );
+
+    @Test
+    public void testSaveAndLoad()
+        throws Exception
+    {
+        File file = new File( directory, "check-foo" + CheckResults.SUFFIX );
+        file.delete();
+        CheckResults results = new CheckResults( file, "check-foo", "dist-tool-check-foo" );
+        results.record( artifact( "maven-a-plugin" ), "1.0", null, 120, false, Collections.<Failure>emptyList() );
+        results.record( artifact( "maven-b-plugin" ), "2.0", null, 80, true,
+                        Arrays.asList( new Failure( "missing-file", "https://host/", false, "Missing file for b" ),
+                                       new Failure( "missing-file", "https://host/", false, " > b.zip <" ) ) );
+        results.record( artifact( "maven-c-plugin" ), "3.0", null, 10, false,
+                        Collections.singletonList( new Failure( "old-file", null, true, "ignored" ) ) );
+        results.record( artifact( "maven-d-plugin" ), null, CheckResults.Status.NOT_CHECKED, 0, false,
+                        Collections.<Failure>emptyList() );
+        results.record( artifact( "maven-e-plugin" ), "5.0", CheckResults.Status.FAILED, 30, false,
+                        Collections.<Failure>emptyList() );
+        // found while rendering the report
+        results.addFailures( artifact( "maven-a-plugin" ), "1.0",
+                             Collections.singletonList( new Failure( "index-version", null, false, "a: 0.9" ) ) );
+        results.setMillis( 1234 );
+        results.save();
+
+        assertEquals( Collections.singletonList( file ), CheckResults.find( directory ) );
+        CheckResults loaded = CheckResults.load( file );
+        assertEquals( "check-foo", loaded.getCheck() );
+        assertEquals( "dist-tool-check-foo", loaded.getReport() );
+        assertEquals( 1234, loaded.getMillis() );
+        assertEquals( Arrays.asList( "a: 0.9", "Missing file for b", " > b.zip <" ), loaded.getErrors() );
+        assertEquals( Collections.singletonList( "org.apache.maven.plugins:maven-e-plugin:5.0" ), loaded.getFailed() );
+        assertEquals( results.getCounts(), loaded.getCounts() );
+        assertEquals( Integer.valueOf( 2 ), loaded.getCounts().get( CheckResults.Status.ERROR ) );
+        assertEquals( Integer.valueOf( 0 ), loaded.getCounts().get( CheckResults.Status.OK ) );
+        assertEquals( Integer.valueOf( 1 ), loaded.getCounts().get( CheckResults.Status.IGNORED ) );
+
+        List<CheckResults.ArtifactResult> artifacts = loaded.getArtifacts();
+        assertEquals( "org.apache.maven.plugins:maven-b-plugin", artifacts.get( 1 ).artifact );
+        assertEquals( 80, artifacts.get( 1 ).millis );
+        assertTrue( artifacts.get( 1 ).restored );
+        assertEquals( CheckResults.Status.NOT_CHECKED, artifacts.get( 3 ).status );
+        assertEquals( CheckResults.Status.FAILED, artifacts.get( 4 ).status );
+    }
+}
@@ -0,0 +1,132 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.junit.Test;
+
+/**
+ * Compare the url and date calls of one source release report row on {@link ConfigurationLineInfo}, with values
+ * precomputed per line, and with the former per call computation, reproduced here: regex to build the repository
+ * path, 2 <code>SimpleDateFormat</code> to format the release date. Time and allocated bytes per row. Not run by the
+ * build, which only runs <code>*Test</code> classes: run manually with
+ * <pre>mvn test -Dtest=ConfigurationLineInfoBenchmark</pre>
+ */
+public class ConfigurationLineInfoBenchmark
+{
+    private static final String REPOSITORY = "https://repo.maven.apache.org/maven2/";
+
+    private static final String VERSION = "3.2.5";
+
+    private static final String LAST_UPDATED = "20231218120000";
+
+    private static final int WARMUP = 200000;
+
+    private static final int ROWS = 200000;
+
+    private interface Row
+    {
+        int render( ConfigurationLineInfo cli );
+    }
+
+    @Test
+    public void benchmark()
+        throws Exception
+    {
+        ConfigurationLineInfo cli =
+            new ConfigurationLineInfo( new ConfigurationLineInfo( new String[] { "plugins",
+                "org.apache.maven.plugins" } ), new String[] { "maven-surefire-plugin" } );
+        cli.setLastUpdated( LAST_UPDATED );
+
+        run( "computed per call", cli, ConfigurationLineInfoBenchmark::renderPerCall );
+        run( "precomputed per line", cli, ConfigurationLineInfoBenchmark::render );
+    }
+
+    private static int render( ConfigurationLineInfo cli )
+    {
+        return cli.getMetadataFileURL( REPOSITORY ).length() + cli.getReleaseDateFromMetadata().length()
+            + cli.getBaseURL( REPOSITORY, "" ).length() + cli.getVersionnedFolderURL( REPOSITORY, VERSION ).length()
+            + cli.getShortGroupId().length();
+    }
+
+    private static int renderPerCall( ConfigurationLineInfo cli )
+    {
+        return baseUrl( cli, "maven-metadata.xml" ).length() + releaseDate( LAST_UPDATED ).length()
+            + baseUrl( cli, "" ).length() + ( baseUrl( cli, VERSION ) + '/' ).length()
+            + cli.getGroupId().replaceAll( "org.apache.maven", "o.a.m" ).length();
+    }
+
+    private static String baseUrl( ConfigurationLineInfo cli, String folder )
+    {
+        return REPOSITORY + cli.getGroupId().replaceAll( "\\.", "/" ) + '/' + cli.getArtifactId() + '/' + folder;
+    }
+
+    private static String releaseDate( String lastUpdated )
+    {
+        try
+        {
+            Date date = new SimpleDateFormat( "yyyyMMddkkmmss" ).parse( lastUpdated );
+            return new SimpleDateFormat( "yyyy-MM-dd" ).format( date );
+        }
+        catch ( ParseException ex )
+        {
+            return "Cannot parse";
+        }
+    }
+
+    private static void run( String name, ConfigurationLineInfo cli, Row row )
+    {
+        int sink = 0;
+        for ( int i = 0; i < WARMUP; i++ )
+        {
+            sink += row.render( cli );
+        }
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for ( int i = 0; i < ROWS; i++ )
+        {
+            sink += row.render( cli );
+        }
+        long nanos = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+
+        System.out.println( String.format( "%-25s %8d ns/row %8d bytes/row (%d)", name, nanos / ROWS,
+                                           ( allocated < 0 ) ? -1 : allocated / ROWS, sink ) );
+    }
+
+    /**
+     * @return bytes allocated by current thread, or a negative value if not supported by the JVM
+     */
+    private static long allocatedBytes()
+    {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if ( threads instanceof com.sun.management.ThreadMXBean )
+        {
+            return ( ( com.sun.management.ThreadMXBean ) threads ).getThreadAllocatedBytes(
+                Thread.currentThread().getId() );
+        }
+        return -1;
+    }
+}
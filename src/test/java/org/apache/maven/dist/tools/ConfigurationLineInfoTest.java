@@ -0,0 +1,67 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+public class ConfigurationLineInfoTest
+{
+    private static final String REPO = "https://repo.maven.apache.org/maven2/";
+
+    private final ConfigurationLineInfo group =
+        new ConfigurationLineInfo( new String[] { "/plugins", "org.apache.maven.plugins" } );
+
+    @Test
+    public void testUrls()
+        throws Exception
+    {
+        ConfigurationLineInfo cli = new ConfigurationLineInfo( group, new String[] { "maven-clean-plugin" } );
+
+        assertEquals( REPO + "org/apache/maven/plugins/maven-clean-plugin/maven-metadata.xml",
+                      cli.getMetadataFileURL( REPO ) );
+        assertEquals( REPO + "org/apache/maven/plugins/maven-clean-plugin/3.0/",
+                      cli.getVersionnedFolderURL( REPO, "3.0" ) );
+        assertEquals( REPO + "org/apache/maven/plugins/maven-clean-plugin/3.0/maven-clean-plugin-3.0.pom",
+                      cli.getVersionnedPomFileURL( REPO, "3.0" ) );
+        assertEquals( "o.a.m.plugins", cli.getShortGroupId() );
+    }
+
+    @Test
+    public void testReleaseDate()
+        throws Exception
+    {
+        ConfigurationLineInfo cli = new ConfigurationLineInfo( group, new String[] { "maven-clean-plugin" } );
+        assertEquals( "Cannot parse", cli.getReleaseDateFromMetadata() );
+
+        cli.setLastUpdated( "20181231235959" );
+        assertEquals( LocalDate.of( 2018, 12, 31 ), cli.getReleaseDate() );
+        assertEquals( "2018-12-31", cli.getReleaseDateFromMetadata() );
+
+        cli.setLastUpdated( "not a date" );
+        assertNull( cli.getReleaseDate() );
+        assertEquals( "Cannot parse", cli.getReleaseDateFromMetadata() );
+    }
+}
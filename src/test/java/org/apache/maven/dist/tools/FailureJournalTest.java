@@ -0,0 +1,110 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.maven.dist.tools.CheckFixture.artifact;
+import static org.apache.maven.dist.tools.CheckFixture.directory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class FailureJournalTest
+{
+    private final File directory = directory( FailureJournalTest.class );
+
+    @Test
+    public void testLogAndJournal()
+        throws Exception
+    {
+        File log = new File( directory, "check.log" );
+        File jsonl = new File( directory, "check.jsonl" );
+        FailureJournal journal = new FailureJournal( "check", log, jsonl );
+        journal.reset();
+
+        journal.write( artifact( "maven-foo-plugin" ), "1.0",
+                       Arrays.asList( new Failure( "missing-file", "https://host/", false, "Missing \"a.zip\"" ),
+                                      new Failure( "missing-file", "https://host/", true, "ignored\tline" ) ) );
+        // on disk before close once flushed, as after each artifact of a run
+        journal.flush();
+        assertEquals( Collections.singletonList( "Missing \"a.zip\"" ), Files.readAllLines( log.toPath() ) );
+        assertEquals( 2, Files.readAllLines( jsonl.toPath() ).size() );
+        journal.close();
+        // appended after close
+        journal.write( null, null, Collections.singletonList( new Failure( "http-error", null, false, "other" ) ) );
+        journal.close();
+
+        assertEquals( Arrays.asList( "Missing \"a.zip\"", "other" ), Files.readAllLines( log.toPath() ) );
+        List<String> entries = Files.readAllLines( jsonl.toPath(), StandardCharsets.UTF_8 );
+        assertEquals( 3, entries.size() );
+        assertEquals( "{\"check\":\"check\",\"artifact\":\"org.apache.maven.plugins:maven-foo-plugin\","
+            + "\"version\":\"1.0\",\"url\":\"https://host/\",\"category\":\"missing-file\",\"ignored\":false,"
+            + "\"message\":\"Missing \\\"a.zip\\\"\"}", entries.get( 0 ) );
+        assertTrue( entries.get( 1 ).contains( "\"ignored\":true,\"message\":\"ignored\\tline\"" ) );
+        assertTrue( entries.get( 2 ).startsWith( "{\"check\":\"check\",\"artifact\":null,\"version\":null," ) );
+    }
+
+    @Test
+    public void testConcurrentWrites()
+        throws Exception
+    {
+        File log = new File( directory, "concurrent.log" );
+        File jsonl = new File( directory, "concurrent.jsonl" );
+        FailureJournal journal = new FailureJournal( "check", log, jsonl );
+        journal.reset();
+
+        ConfigurationLineInfo artifact = artifact( "maven-foo-plugin" );
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        List<Future<?>> futures = new ArrayList<>();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            String message = "failure " + i;
+            futures.add( executor.submit( () -> {
+                journal.write( artifact, "1.0",
+                               Collections.singletonList( new Failure( "http-error", null, false, message ) ) );
+                return null;
+            } ) );
+        }
+        for ( Future<?> future : futures )
+        {
+            future.get();
+        }
+        executor.shutdown();
+        journal.close();
+
+        assertEquals( 1000, Files.readAllLines( log.toPath() ).size() );
+        for ( String entry : Files.readAllLines( jsonl.toPath() ) )
+        {
+            assertTrue( entry, entry.matches( "\\{.*\"message\":\"failure \\d+\"\\}" ) );
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class FetchPlanTest
+{
+    @Test
+    public void testDeduplicateAndGroup()
+    {
+        FetchPlan plan = new FetchPlan();
+        plan.add( "source", "https://repo.maven.apache.org/maven2/org/apache/maven/maven-core/maven-metadata.xml" );
+        plan.add( "site", "https://repo.maven.apache.org/maven2/org/apache/maven/maven-core/maven-metadata.xml" );
+        plan.add( "source", "https://repo.maven.apache.org/maven2/org/apache/maven/maven-core/3.0/" );
+        plan.add( "source", "https://dist.apache.org/repos/dist/release/maven/plugins/" );
+        plan.add( "index", "https://dist.apache.org/repos/dist/release/maven/plugins/" );
+        plan.addUnresolved( "site", "site url" );
+        plan.addUnresolved( "site", "site url" );
+
+        assertEquals( 7, plan.getRequestCount() );
+        assertEquals( 3, plan.getUrlCount() );
+        assertEquals( Arrays.asList( "source", "index" ),
+                      Arrays.asList( plan.getUrls().get( "https://dist.apache.org/repos/dist/release/maven/plugins/" )
+                          .toArray() ) );
+        assertEquals( Integer.valueOf( 3 ), plan.getRequestsByCheck().get( "site" ) );
+        assertEquals( Integer.valueOf( 2 ), plan.getRequestsByHost().get( "repo.maven.apache.org" ) );
+        assertEquals( Integer.valueOf( 1 ), plan.getRequestsByHost().get( "dist.apache.org" ) );
+        String directory = "https://repo.maven.apache.org/maven2/org/apache/maven/maven-core/";
+        assertEquals( Collections.singletonMap( directory, 2 ),
+                      plan.getRequestsByDirectory().get( "repo.maven.apache.org" ) );
+        assertEquals( Collections.singletonMap( "site: site url", 2 ), plan.getUnresolved() );
+    }
+}
@@ -0,0 +1,127 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.codehaus.plexus.util.IOUtil;
+import org.junit.Test;
+
+/**
+ * Compare reading metadata with {@link MetadataSummary} and with the full {@link MetadataXpp3Reader} model: time
+ * and allocated bytes per read, on metadata of artifacts with long histories saved from central in
+ * <code>src/test/resources/metadata</code>. Not run by the build, which only runs <code>*Test</code> classes: run
+ * manually with
+ * <pre>mvn test -Dtest=MetadataSummaryBenchmark</pre>
+ */
+public class MetadataSummaryBenchmark
+{
+    private static final String[] ARTIFACTS = { "maven-surefire-plugin", "maven-plugin-plugin", "maven-core",
+        "plexus-utils" };
+
+    private static final int WARMUP = 2000;
+
+    private static final int ITERATIONS = 20000;
+
+    private interface Reader
+    {
+        Object read( InputStream input )
+            throws Exception;
+    }
+
+    @Test
+    public void benchmark()
+        throws Exception
+    {
+        List<byte[]> documents = new ArrayList<>();
+        int versions = 0;
+        for ( String artifact : ARTIFACTS )
+        {
+            byte[] document = load( "/metadata/" + artifact + ".xml" );
+            documents.add( document );
+            versions += MetadataSummary.read( new ByteArrayInputStream( document ), true ).getVersions().size();
+        }
+        System.out.println( documents.size() + " metadata files, " + versions + " versions" );
+
+        run( "MetadataXpp3Reader (full model)", documents, input -> new MetadataXpp3Reader().read( input ) );
+        run( "MetadataSummary with versions", documents, input -> MetadataSummary.read( input, true ) );
+        run( "MetadataSummary without versions", documents, input -> MetadataSummary.read( input, false ) );
+    }
+
+    private static void run( String name, List<byte[]> documents, Reader reader )
+        throws Exception
+    {
+        for ( int i = 0; i < WARMUP; i++ )
+        {
+            readAll( documents, reader );
+        }
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for ( int i = 0; i < ITERATIONS; i++ )
+        {
+            readAll( documents, reader );
+        }
+        long nanos = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+
+        long reads = ( long ) ITERATIONS * documents.size();
+        System.out.println( String.format( "%-35s %8.1f us/read %10d bytes/read", name, nanos / 1000.0 / reads,
+                                           ( allocated < 0 ) ? -1 : allocated / reads ) );
+    }
+
+    private static void readAll( List<byte[]> documents, Reader reader )
+        throws Exception
+    {
+        for ( byte[] document : documents )
+        {
+            reader.read( new ByteArrayInputStream( document ) );
+        }
+    }
+
+    /**
+     * @return bytes allocated by current thread, or a negative value if not supported by the JVM
+     */
+    private static long allocatedBytes()
+    {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if ( threads instanceof com.sun.management.ThreadMXBean )
+        {
+            return ( ( com.sun.management.ThreadMXBean ) threads ).getThreadAllocatedBytes(
+                Thread.currentThread().getId() );
+        }
+        return -1;
+    }
+
+    private static byte[] load( String resource )
+        throws IOException
+    {
+        try ( InputStream input = MetadataSummaryBenchmark.class.getResourceAsStream( resource ) )
+        {
+            return IOUtil.toByteArray( input );
+        }
+    }
+}
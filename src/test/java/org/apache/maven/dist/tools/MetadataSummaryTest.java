@@ -0,0 +1,102 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.junit.Test;
+
+public class MetadataSummaryTest
+{
+    private static final String METADATA = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<metadata>\n"
+        + "  <groupId>org.apache.maven.plugins</groupId>\n"
+        + "  <artifactId>maven-surefire-plugin</artifactId>\n"
+        + "  <!-- comment -->\n"
+        + "  <versioning>\n"
+        + "    <latest> 3.0.0-M1 </latest>\n"
+        + "    <release>3.0.0-M1</release>\n"
+        + "    <versions>\n"
+        + "      <version>2.22.0</version>\n"
+        + "      <version>2.22.1</version>\n"
+        + "      <version>3.0.0-M1</version>\n"
+        + "    </versions>\n"
+        + "    <snapshotVersions>\n"
+        + "      <snapshotVersion><extension>jar</extension><value>1.0-20180101</value></snapshotVersion>\n"
+        + "    </snapshotVersions>\n"
+        + "    <lastUpdated>20181231235959</lastUpdated>\n"
+        + "  </versioning>\n"
+        + "  <version>ignored</version>\n"
+        + "</metadata>\n";
+
+    @Test
+    public void testSameFieldsAsMetadataModel()
+        throws Exception
+    {
+        MetadataSummary summary = read( METADATA, true );
+        Metadata metadata = new MetadataXpp3Reader().read( input( METADATA ) );
+
+        assertEquals( metadata.getVersioning().getLatest(), summary.getLatest() );
+        assertEquals( metadata.getVersioning().getLastUpdated(), summary.getLastUpdated() );
+        assertEquals( metadata.getVersioning().getVersions(), summary.getVersions() );
+        assertEquals( Arrays.asList( "2.22.0", "2.22.1", "3.0.0-M1" ), summary.getVersions() );
+    }
+
+    @Test
+    public void testWithoutVersions()
+        throws Exception
+    {
+        MetadataSummary summary = read( METADATA, false );
+
+        assertEquals( "3.0.0-M1", summary.getLatest() );
+        assertEquals( "20181231235959", summary.getLastUpdated() );
+        assertNull( summary.getVersions() );
+    }
+
+    @Test
+    public void testWithoutVersioning()
+        throws Exception
+    {
+        MetadataSummary summary = read( "<metadata><groupId>org.apache.maven</groupId></metadata>", true );
+
+        assertNull( summary.getLatest() );
+        assertNull( summary.getLastUpdated() );
+        assertEquals( 0, summary.getVersions().size() );
+    }
+
+    private static MetadataSummary read( String xml, boolean withVersions )
+        throws Exception
+    {
+        return MetadataSummary.read( input( xml ), withVersions );
+    }
+
+    private static ByteArrayInputStream input( String xml )
+    {
+        return new ByteArrayInputStream( xml.getBytes( StandardCharsets.UTF_8 ) );
+    }
+}
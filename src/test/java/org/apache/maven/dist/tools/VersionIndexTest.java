@@ -0,0 +1,66 @@
+package org.apache.maven.dist.tools;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.Test;
+
+public class VersionIndexTest
+{
+    private static final List<String> VERSIONS =
+        Arrays.asList( "2.0.9", "2.0.10", "2.2.1", "3.0-alpha-1", "3.0-beta-1", "3.0", "3.0.1", "3.0.5",
+                       "3.1.0-alpha-1", "3.1.0", "3.1", "3.5.0-beta-1", "3.5.0", "3.9.9", "4.0.0-rc-4" );
+
+    @Test
+    public void testSameMatchAsVersionRange()
+        throws Exception
+    {
+        VersionIndex index = new VersionIndex( VERSIONS );
+        List<ArtifactVersion> versions = new ArrayList<>();
+        for ( String version : VERSIONS )
+        {
+            versions.add( new DefaultArtifactVersion( version ) );
+        }
+
+        for ( String spec : new String[] { "[3.0,3.1.0-alpha-1)", "[2.0,3.0)", "(,3.0]", "[3.5.0,)", "(3.0.5,3.1.0]",
+            "[1.0,1.5]", "[2.0.9]", "(,2.0.9),(3.0,3.1)", "(3.1.0,3.5.0)", "[3.1]", "(2.2.1,3.0-alpha-1)" } )
+        {
+            VersionRange range = VersionRange.createFromVersionSpec( spec );
+            assertEquals( spec, String.valueOf( range.matchVersion( versions ) ),
+                          String.valueOf( index.match( range ) ) );
+        }
+    }
+
+    @Test
+    public void testVersionsDescending()
+    {
+        VersionIndex index = new VersionIndex( Arrays.asList( "3.0", "2.0.10", "3.0-beta-1", "2.0.9" ) );
+        assertEquals( Arrays.asList( "3.0", "3.0-beta-1", "2.0.10", "2.0.9" ), index.getVersionsDescending() );
+    }
+}
@@ -0,0 +1,109 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimitTest
+{
+    private static final long LATENCY = 100 * 1000 * 1000;
+
+    @Test
+    public void testAdditiveIncreaseWhileSaturatedAndFlat()
+        throws IOException
+    {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit( "host", 2, 3, message -> { } );
+
+        // limit used: + 1/limit per success
+        saturate( limit, 2 );
+        limit.release( LATENCY, false );
+        limit.release( LATENCY, false );
+        saturate( limit, 2 );
+        limit.release( LATENCY, false );
+        assertEquals( 2, limit.getLimit() );
+        saturate( limit, 1 );
+        limit.release( LATENCY, false );
+        limit.release( LATENCY, false );
+        assertEquals( 3, limit.getLimit() );
+
+        // never above maximum
+        for ( int i = 0; i < 10; i++ )
+        {
+            saturate( limit, 3 );
+            for ( int j = 0; j < 3; j++ )
+            {
+                limit.release( LATENCY, false );
+            }
+        }
+        assertEquals( 3, limit.getLimit() );
+        assertEquals( 1, limit.getChanges().size() );
+    }
+
+    @Test
+    public void testNoIncreaseWhenLatencyGrows()
+        throws IOException
+    {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit( "host", 1, 10, message -> { } );
+        limit.acquire();
+        limit.release( LATENCY, false );
+        assertEquals( 2, limit.getLimit() );
+        for ( int i = 0; i < 20; i++ )
+        {
+            saturate( limit, 2 );
+            limit.release( 20 * LATENCY, false );
+            limit.release( 20 * LATENCY, false );
+        }
+        assertEquals( 2, limit.getLimit() );
+    }
+
+    @Test
+    public void testMultiplicativeDecreaseOnOverload()
+        throws IOException
+    {
+        List<String> warnings = new ArrayList<>();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit( "host", 8, 16, warnings::add );
+        saturate( limit, 3 );
+        limit.release( LATENCY, true );
+        assertEquals( 4, limit.getLimit() );
+
+        // other failures of the same round trip do not decrease again
+        limit.release( LATENCY, true );
+        limit.release( LATENCY, true );
+        assertEquals( 4, limit.getLimit() );
+        assertEquals( Collections.singletonList( "Host host overloaded: concurrency limit 8 -> 4" ), warnings );
+    }
+
+    private static void saturate( AdaptiveConcurrencyLimit limit, int requests )
+        throws IOException
+    {
+        for ( int i = 0; i < requests; i++ )
+        {
+            limit.acquire();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class HedgedMirrorsTest
+{
+    private static final String CENTRAL = "https://repo.maven.apache.org/maven2/";
+
+    private static final String MIRROR = "https://repo1.maven.org/maven2";
+
+    private static final String PATH = "org/apache/maven/maven-metadata.xml";
+
+    private final HttpTransport transport = new HttpTransport()
+    {
+        @Override
+        public TransportResponse get( String url, Map<String, String> headers )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    };
+
+    private static HttpResource resource( String url )
+    {
+        return new HttpResource( url, "text/xml", null, null, new byte[0] );
+    }
+
+    @Test
+    public void testSlowRepositoryIsHedged()
+        throws Exception
+    {
+        HedgedMirrors mirrors = new HedgedMirrors( Arrays.asList( CENTRAL, MIRROR ), 95 );
+        for ( int i = 0; i < 20; i++ )
+        {
+            mirrors.recordLatency( TimeUnit.MILLISECONDS.toNanos( 10 ) );
+        }
+        CountDownLatch cancelled = new CountDownLatch( 1 );
+
+        HttpResource resource = mirrors.fetch( CENTRAL + PATH, url -> {
+            if ( url.startsWith( CENTRAL ) )
+            {
+                try
+                {
+                    Thread.sleep( 10000 );
+                }
+                catch ( InterruptedException ie )
+                {
+                    cancelled.countDown();
+                }
+                throw new IOException( "cancelled" );
+            }
+            return resource( url );
+        }, transport );
+
+        assertEquals( MIRROR + '/' + PATH, resource.getUrl() );
+        assertTrue( cancelled.await( 5, TimeUnit.SECONDS ) );
+        assertEquals( 0, mirrors.getWins( CENTRAL ) );
+        assertEquals( 1, mirrors.getWins( MIRROR ) );
+    }
+
+    @Test
+    public void testFailedRepositoryIsHedged()
+        throws Exception
+    {
+        HedgedMirrors mirrors = new HedgedMirrors( Arrays.asList( CENTRAL, MIRROR ), 95 );
+
+        HttpResource resource = mirrors.fetch( CENTRAL + PATH, url -> {
+            if ( url.startsWith( CENTRAL ) )
+            {
+                throw new IOException( "connection reset" );
+            }
+            return resource( url );
+        }, transport );
+
+        assertEquals( MIRROR + '/' + PATH, resource.getUrl() );
+        assertEquals( 1, mirrors.getWins( MIRROR ) );
+    }
+
+    @Test
+    public void testFastRepositoryIsNotHedged()
+        throws Exception
+    {
+        HedgedMirrors mirrors = new HedgedMirrors( Arrays.asList( CENTRAL, MIRROR ), 95 );
+        assertTrue( mirrors.isMirrored( CENTRAL + PATH ) );
+        assertFalse( mirrors.isMirrored( "https://maven.apache.org/" ) );
+
+        HttpResource resource = mirrors.fetch( CENTRAL + PATH, url -> {
+            if ( url.startsWith( MIRROR ) )
+            {
+                fail( "unexpected hedged request" );
+            }
+            return resource( url );
+        }, transport );
+
+        assertEquals( CENTRAL + PATH, resource.getUrl() );
+        assertEquals( 1, mirrors.getWins( CENTRAL ) );
+    }
+
+    @Test
+    public void testFailureOfRepositoryIsReported()
+    {
+        HedgedMirrors mirrors = new HedgedMirrors( Arrays.asList( CENTRAL, MIRROR ), 95 );
+        try
+        {
+            mirrors.fetch( CENTRAL + PATH, url -> {
+                throw new HttpErrorException( url.startsWith( CENTRAL ) ? 404 : 503, url, -1 );
+            }, transport );
+            fail( "expected HttpErrorException" );
+        }
+        catch ( IOException ioe )
+        {
+            assertEquals( 404, ( ( HttpErrorException ) ioe ).getStatusCode() );
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class HttpFetcherTest
+{
+    @After
+    public void tearDown()
+    {
+        HttpFetcher.setTransport( null );
+        HttpFetcher.setListener( message -> { } );
+        HttpFetcher.setRetryPolicy( new RetryPolicy( 3, 1000, 30 * 1000 ) );
+    }
+
+    @Test
+    public void testTooManyRequestsIsRetriedAfterDelay()
+        throws Exception
+    {
+        AtomicInteger requests = new AtomicInteger();
+        HttpFetcher.setTransport( new HttpTransport()
+        {
+            @Override
+            public TransportResponse get( String url, Map<String, String> headers )
+            {
+                if ( requests.incrementAndGet() == 1 )
+                {
+                    return new TransportResponse( 429, Collections.singletonMap( "Retry-After", "1" ), new byte[0] );
+                }
+                return new TransportResponse( 200, Collections.singletonMap( "Content-Type", "text/plain" ),
+                                              "ok".getBytes( StandardCharsets.UTF_8 ) );
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        } );
+        HttpFetcher.setRetryPolicy( new RetryPolicy( 3, 10, 30 * 1000 ) );
+        List<String> warnings = new ArrayList<>();
+        HttpFetcher.setListener( warnings::add );
+
+        long start = System.currentTimeMillis();
+        HttpResource resource = HttpFetcher.get( "https://retry-after.example.org/index.html" );
+
+        assertEquals( 2, requests.get() );
+        assertEquals( "ok", new String( resource.getBody(), StandardCharsets.UTF_8 ) );
+        assertTrue( "Retry-After ignored", System.currentTimeMillis() - start >= 1000 );
+        assertTrue( warnings.toString(),
+                    warnings.stream().anyMatch( warning -> warning.endsWith( "retrying in 1000 ms" ) ) );
+    }
+}
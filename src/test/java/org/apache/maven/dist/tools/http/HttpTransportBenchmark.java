@@ -0,0 +1,140 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Compare {@link PooledHttpTransport} (HTTP/1.1) and {@link JdkHttpTransport} (HTTP/2) on the request mix recorded
+ * in <code>src/test/resources/http/request-mix.txt</code>. Each transport sends the mix twice, on new connections
+ * then on open connections: wall time and latency percentiles. Sends live requests, so not run by the build, which
+ * only runs <code>*Test</code> classes: run manually on JDK 11+ with
+ * <pre>mvn test -Dtest=HttpTransportBenchmark [-Dthreads=16]</pre>
+ */
+public class HttpTransportBenchmark
+{
+    private static final int TIMEOUT = 30 * 1000;
+
+    @Test
+    public void benchmark()
+        throws Exception
+    {
+        List<String> urls = readRequestMix();
+        int threads = Integer.getInteger( "threads", 16 );
+        System.out.println( urls.size() + " urls, " + threads + " threads" );
+
+        HttpTransport http1 = new PooledHttpTransport( TIMEOUT, TIMEOUT, threads );
+        run( "HTTP/1.1 new connections", http1, urls, threads );
+        run( "HTTP/1.1 open connections", http1, urls, threads );
+        System.out.println( "  " + http1 );
+        http1.close();
+
+        if ( !JdkHttpTransport.isAvailable() )
+        {
+            System.out.println( "JDK HttpClient not available on Java " + System.getProperty( "java.version" ) );
+            return;
+        }
+        HttpTransport http2 = new JdkHttpTransport( TIMEOUT, TIMEOUT );
+        run( "HTTP/2 new connections", http2, urls, threads );
+        run( "HTTP/2 open connections", http2, urls, threads );
+        System.out.println( "  " + http2 );
+        http2.close();
+    }
+
+    private static void run( String name, HttpTransport transport, List<String> urls, int threads )
+        throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        List<Long> latencies = Collections.synchronizedList( new ArrayList<>() );
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for ( String url : urls )
+        {
+            futures.add( executor.submit( () -> {
+                long requestStart = System.nanoTime();
+                try
+                {
+                    if ( transport.get( url, Collections.emptyMap() ).getStatus() >= 400 )
+                    {
+                        errors.incrementAndGet();
+                    }
+                }
+                catch ( IOException ioe )
+                {
+                    errors.incrementAndGet();
+                }
+                latencies.add( System.nanoTime() - requestStart );
+            } ) );
+        }
+        for ( Future<?> future : futures )
+        {
+            future.get();
+        }
+        long wall = System.nanoTime() - start;
+        executor.shutdown();
+
+        Long[] sorted = latencies.toArray( new Long[0] );
+        Arrays.sort( sorted );
+        System.out.println( String.format( "%-28s %7d ms %7.1f req/s  p50 %5d ms  p95 %5d ms  %d errors", name,
+                                           TimeUnit.NANOSECONDS.toMillis( wall ),
+                                           urls.size() * 1e9 / wall, percentile( sorted, 50 ),
+                                           percentile( sorted, 95 ), errors.get() ) );
+    }
+
+    private static long percentile( Long[] sorted, int percentile )
+    {
+        int index = Math.max( 0, ( int ) Math.ceil( percentile / 100.0 * sorted.length ) - 1 );
+        return TimeUnit.NANOSECONDS.toMillis( sorted[index] );
+    }
+
+    private static List<String> readRequestMix()
+        throws IOException
+    {
+        List<String> urls = new ArrayList<>();
+        try ( BufferedReader reader = new BufferedReader( new InputStreamReader(
+            HttpTransportBenchmark.class.getResourceAsStream( "/http/request-mix.txt" ), StandardCharsets.UTF_8 ) ) )
+        {
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                if ( !line.isEmpty() && !line.startsWith( "#" ) )
+                {
+                    urls.add( line );
+                }
+            }
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,69 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class RateLimiterTest
+{
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos( 1 );
+
+    @Test
+    public void testBurstThenSpacedRequests()
+    {
+        RateLimiter limiter = new RateLimiter( "host", 4 );
+        long now = System.nanoTime();
+
+        // one second worth of requests goes through immediately
+        for ( int i = 0; i < 4; i++ )
+        {
+            assertEquals( 0, limiter.reserve( now ) );
+        }
+        // then requests are spaced by 250 ms
+        assertEquals( 250 * MS, limiter.reserve( now ) );
+        assertEquals( 500 * MS, limiter.reserve( now ) );
+        assertEquals( 6, limiter.getRequests() );
+        assertEquals( 2, limiter.getDelayed() );
+        assertEquals( 750, limiter.getWaitedMillis() );
+
+        // after an idle period, the bucket is full again
+        long later = now + TimeUnit.SECONDS.toNanos( 10 );
+        for ( int i = 0; i < 4; i++ )
+        {
+            assertEquals( 0, limiter.reserve( later ) );
+        }
+        assertEquals( 250 * MS, limiter.reserve( later ) );
+    }
+
+    @Test
+    public void testSlowRate()
+    {
+        RateLimiter limiter = new RateLimiter( "host", 0.5 );
+        long now = System.nanoTime();
+        assertEquals( 0, limiter.reserve( now ) );
+        assertEquals( 2000 * MS, limiter.reserve( now ) );
+        assertEquals( 1000 * MS, limiter.reserve( now + 3000 * MS ) );
+    }
+}
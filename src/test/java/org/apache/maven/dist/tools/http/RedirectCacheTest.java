@@ -0,0 +1,63 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.junit.Test;
+
+public class RedirectCacheTest
+{
+    @Test
+    public void testResolveChain()
+    {
+        RedirectCache redirects = new RedirectCache( new File( "target/redirect-cache-test/chain.properties" ) );
+        redirects.record( "http://maven.apache.org/plugins", "https://maven.apache.org/plugins" );
+        redirects.record( "https://maven.apache.org/plugins", "https://maven.apache.org/plugins/" );
+
+        assertEquals( "https://maven.apache.org/plugins/", redirects.resolve( "http://maven.apache.org/plugins" ) );
+        assertEquals( "https://maven.apache.org/plugins/", redirects.resolve( "https://maven.apache.org/plugins" ) );
+        assertEquals( "https://maven.apache.org/", redirects.resolve( "https://maven.apache.org/" ) );
+        assertEquals( 0, redirects.getSaved() );
+        redirects.resolved( "http://maven.apache.org/plugins" );
+        assertEquals( 2, redirects.getSaved() );
+
+        redirects.forget( "https://maven.apache.org/plugins" );
+        assertEquals( "https://maven.apache.org/plugins", redirects.resolve( "http://maven.apache.org/plugins" ) );
+    }
+
+    @Test
+    public void testSaveAndLoad()
+        throws Exception
+    {
+        File file = new File( "target/redirect-cache-test/redirects.properties" );
+        file.delete();
+        RedirectCache redirects = new RedirectCache( file );
+        redirects.record( "http://maven.apache.org/", "https://maven.apache.org/" );
+        redirects.save();
+
+        RedirectCache next = new RedirectCache( file );
+        next.load();
+        assertEquals( "https://maven.apache.org/", next.resolve( "http://maven.apache.org/" ) );
+    }
+}
@@ -0,0 +1,82 @@
+package org.apache.maven.dist.tools.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.SocketException;
+import java.net.UnknownHostException;
+
+import org.junit.Test;
+
+public class RetryPolicyTest
+{
+    private final RetryPolicy policy = new RetryPolicy( 3, 1000, 30 * 1000 );
+
+    @Test
+    public void testClientErrorsAreNotRetried()
+    {
+        assertEquals( -1, policy.getRetryDelayMillis( 1, new HttpErrorException( 404, "http://host/", -1 ) ) );
+        assertFalse( policy.isHostFailure( new HttpErrorException( 404, "http://host/", -1 ) ) );
+        assertEquals( -1, policy.getRetryDelayMillis( 1, new UnknownHostException( "host" ) ) );
+    }
+
+    @Test
+    public void testServerErrorsAreRetriedWithBackoff()
+    {
+        long first = policy.getRetryDelayMillis( 1, new HttpErrorException( 503, "http://host/", -1 ) );
+        assertTrue( first >= 500 && first <= 1000 );
+        long second = policy.getRetryDelayMillis( 2, new SocketException( "Connection reset" ) );
+        assertTrue( second >= 1000 && second <= 2000 );
+        assertEquals( -1, policy.getRetryDelayMillis( 3, new SocketException( "Connection reset" ) ) );
+    }
+
+    @Test
+    public void testRetryAfter()
+    {
+        assertEquals( 5000, policy.getRetryDelayMillis( 1, new HttpErrorException( 429, "http://host/", 5000 ) ) );
+        assertEquals( 30000, policy.getRetryDelayMillis( 1, new HttpErrorException( 503, "http://host/", 60000 ) ) );
+        assertEquals( 120000, RetryPolicy.parseRetryAfter( "120" ) );
+        assertEquals( -1, RetryPolicy.parseRetryAfter( "soon" ) );
+        assertEquals( 0, RetryPolicy.parseRetryAfter( "Wed, 21 Oct 2015 07:28:00 GMT" ) );
+    }
+
+    @Test
+    public void testCircuitBreaker()
+    {
+        CircuitBreaker breaker = new CircuitBreaker( "host", 2, 60 * 1000 );
+        assertTrue( breaker.allowRequest() );
+        assertFalse( breaker.recordFailure() );
+        assertTrue( breaker.recordFailure() );
+        assertFalse( breaker.allowRequest() );
+        assertFalse( breaker.allowRequest() );
+        assertEquals( 1, breaker.getOutages() );
+        assertEquals( 2, breaker.getRejected() );
+
+        CircuitBreaker recovering = new CircuitBreaker( "host", 1, 0 );
+        recovering.recordFailure();
+        assertTrue( recovering.allowRequest() ); // trial request
+        assertFalse( recovering.allowRequest() );
+        recovering.recordSuccess();
+        assertTrue( recovering.allowRequest() );
+    }
+}
@@ -0,0 +1,105 @@
+package org.apache.maven.dist.tools.http;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class SingleFlightTest
+{
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void testConcurrentCallersShareResult()
+        throws Exception
+    {
+        CountDownLatch release = new CountDownLatch( 1 );
+        Object result = new Object();
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync( () -> call( "url", release, result ) );
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync( () -> call( "url", release, result ) );
+
+        while ( calls.get() + singleFlight.getCoalesced() < 2 )
+        {
+            Thread.sleep( 10 );
+        }
+        release.countDown();
+
+        assertSame( result, leader.get() );
+        assertSame( result, follower.get() );
+        assertEquals( 1, calls.get() );
+        assertEquals( 1, singleFlight.getCoalesced() );
+
+        // nothing kept once completed
+        assertSame( result, singleFlight.execute( "url", () -> result ) );
+        assertEquals( 1, singleFlight.getCoalesced() );
+    }
+
+    @Test
+    public void testFailureIsPropagated()
+    {
+        try
+        {
+            singleFlight.execute( "url", () ->
+            {
+                throw new IOException( "down" );
+            } );
+            fail( "IOException expected" );
+        }
+        catch ( IOException ioe )
+        {
+            assertEquals( "down", ioe.getMessage() );
+        }
+    }
+
+    private Object call( String key, CountDownLatch release, Object result )
+    {
+        try
+        {
+            return singleFlight.execute( key, () ->
+            {
+                calls.incrementAndGet();
+                try
+                {
+                    release.await();
+                }
+                catch ( InterruptedException ie )
+                {
+                    throw new IOException( ie );
+                }
+                return result;
+            } );
+        }
+        catch ( IOException ioe )
+        {
+            throw new IllegalStateException( ioe );
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.apache.maven.dist.tools.source;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.maven.dist.tools.ConfigurationLineInfo;
+import org.junit.Test;
+
+public class ReleaseFolderMemoTest
+{
+    @Test
+    public void testSaveAndLoad()
+        throws Exception
+    {
+        File file = new File( "target/release-folder-memo-test/central.properties" );
+        file.delete();
+        ConfigurationLineInfo cli = new ConfigurationLineInfo( new String[] { "plugins", "org.apache.maven.plugins" } );
+        cli = new ConfigurationLineInfo( cli, new String[] { "maven-foo-plugin" } );
+        Set<String> files = new HashSet<>( Arrays.asList( "../", "maven-foo-plugin-1.0-source-release.zip",
+                                                          "maven-foo-plugin-1.0-source-release.zip.asc" ) );
+
+        ReleaseFolderMemo memo = new ReleaseFolderMemo( file );
+        memo.load();
+        assertFalse( memo.contains( cli, "1.0" ) );
+        memo.put( cli, "1.0", files );
+        memo.save();
+
+        ReleaseFolderMemo loaded = new ReleaseFolderMemo( file );
+        loaded.load();
+        assertEquals( files, loaded.get( cli, "1.0" ) );
+        assertNull( loaded.get( cli, "1.1" ) );
+    }
+}